@@ -25,19 +25,28 @@ package com.blackducksoftware.integration.eclipse;
 
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.eclipse.internal.RepositoryPrefetchWatcher;
+import com.blackducksoftware.integration.eclipse.internal.listeners.ClasspathVariableChangedListener;
+import com.blackducksoftware.integration.eclipse.internal.listeners.HubConnectionRestoredListener;
+import com.blackducksoftware.integration.eclipse.internal.listeners.HubPreferencesChangedListener;
 import com.blackducksoftware.integration.eclipse.internal.listeners.NewOrMovedProjectListener;
 import com.blackducksoftware.integration.eclipse.internal.listeners.ProjectComponentsChangedListener;
 import com.blackducksoftware.integration.eclipse.internal.listeners.ProjectDeletedListener;
 import com.blackducksoftware.integration.eclipse.internal.listeners.ProjectMarkedForInspectionListener;
+import com.blackducksoftware.integration.eclipse.internal.listeners.StaleComponentRefreshedListener;
 import com.blackducksoftware.integration.eclipse.services.BlackDuckEclipseServicesFactory;
 import com.blackducksoftware.integration.eclipse.services.ComponentInformationService;
 import com.blackducksoftware.integration.eclipse.services.ProjectInformationService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubComponentLookupService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorPreferencesService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorViewService;
@@ -45,6 +54,8 @@ import com.blackducksoftware.integration.eclipse.services.inspector.ComponentIns
 public class BlackDuckEclipseActivator extends AbstractUIPlugin {
     private final Logger log = LoggerFactory.getLogger(BlackDuckEclipseActivator.class);
     public static final String PLUGIN_ID = "com.blackducksoftware.integration.eclipse.plugin";
+    public static final String COMPONENT_CACHE_FILE_NAME = "component-cache.bin";
+    public static final String PROJECT_INVENTORY_FILE_NAME = "project-inventory.bin";
     private static BlackDuckEclipseActivator plugin;
 
     private ComponentInspectorService componentInspectorService;
@@ -54,8 +65,15 @@ public class BlackDuckEclipseActivator extends AbstractUIPlugin {
     private NewOrMovedProjectListener newProjectListener;
     private ProjectComponentsChangedListener projectComponentsChangedListener;
     private ProjectMarkedForInspectionListener projectMarkedForInspectionListener;
+    private HubPreferencesChangedListener hubPreferencesChangedListener;
+    private HubConnectionRestoredListener hubConnectionRestoredListener;
+    private StaleComponentRefreshedListener staleComponentRefreshedListener;
+    private RepositoryPrefetchWatcher repositoryPrefetchWatcher;
+    private ClasspathVariableChangedListener classpathVariableChangedListener;
     private ProjectInformationService projectInformationService;
     private ComponentInformationService componentInformationService;
+    private HubComponentLookupService hubComponentLookupService;
+    private HubConnectionMonitorService hubConnectionMonitorService;
 
     @Override
     public void start(final BundleContext context) {
@@ -66,15 +84,29 @@ public class BlackDuckEclipseActivator extends AbstractUIPlugin {
         projectInformationService = blackDuckEclipseServicesFactory.getProjectInformationService();
         componentInformationService = blackDuckEclipseServicesFactory.getComponentInformationService();
         componentInspectorPreferencesService = blackDuckEclipseServicesFactory.getComponentInspectorPreferencesService();
+        hubComponentLookupService = blackDuckEclipseServicesFactory.getHubComponentLookupService();
+        hubConnectionMonitorService = blackDuckEclipseServicesFactory.getHubConnectionMonitorService();
+        hubComponentLookupService.loadPersistentCache(Platform.getStateLocation(context.getBundle()).append(COMPONENT_CACHE_FILE_NAME).toFile());
+        componentInspectorService.attachInventorySnapshot(Platform.getStateLocation(context.getBundle()).append(PROJECT_INVENTORY_FILE_NAME).toFile());
         projectMarkedForInspectionListener = new ProjectMarkedForInspectionListener(componentInspectorService, componentInspectorPreferencesService, componentInspectorViewService);
+        hubPreferencesChangedListener = new HubPreferencesChangedListener(blackDuckEclipseServicesFactory.getHubConnectionManagerService(), hubConnectionMonitorService, hubComponentLookupService, componentInspectorService);
+        plugin.getPreferenceStore().addPropertyChangeListener(hubPreferencesChangedListener);
         plugin.getPreferenceStore().addPropertyChangeListener(projectMarkedForInspectionListener);
+        classpathVariableChangedListener = new ClasspathVariableChangedListener(componentInformationService);
+        InstanceScope.INSTANCE.getNode(JavaCore.PLUGIN_ID).addPreferenceChangeListener(classpathVariableChangedListener);
         projectComponentsChangedListener = new ProjectComponentsChangedListener(componentInspectorService, componentInformationService);
         JavaCore.addElementChangedListener(projectComponentsChangedListener);
         newProjectListener = new NewOrMovedProjectListener(componentInspectorService, projectInformationService, componentInspectorPreferencesService);
         ResourcesPlugin.getWorkspace().addResourceChangeListener(newProjectListener);
         projectDeletedListener = new ProjectDeletedListener(componentInspectorService);
         ResourcesPlugin.getWorkspace().addResourceChangeListener(projectDeletedListener, IResourceChangeEvent.PRE_DELETE);
-        componentInspectorService.inspectAllProjects();
+        hubConnectionRestoredListener = new HubConnectionRestoredListener(componentInspectorService, componentInspectorViewService);
+        hubConnectionMonitorService.addListener(hubConnectionRestoredListener);
+        staleComponentRefreshedListener = new StaleComponentRefreshedListener(componentInspectorService);
+        hubComponentLookupService.addRefreshListener(staleComponentRefreshedListener);
+        hubConnectionMonitorService.start();
+        repositoryPrefetchWatcher = new RepositoryPrefetchWatcher(componentInformationService, blackDuckEclipseServicesFactory.getWorkspaceInformationService(), hubComponentLookupService, hubConnectionMonitorService);
+        repositoryPrefetchWatcher.start();
         try {
             super.start(context);
         } catch (final Exception e) {
@@ -85,11 +117,22 @@ public class BlackDuckEclipseActivator extends AbstractUIPlugin {
     @Override
     public void stop(final BundleContext context) {
         plugin.getPreferenceStore().removePropertyChangeListener(projectMarkedForInspectionListener);
+        plugin.getPreferenceStore().removePropertyChangeListener(hubPreferencesChangedListener);
+        hubPreferencesChangedListener.shutDown();
         plugin = null;
+        repositoryPrefetchWatcher.stop();
+        hubConnectionMonitorService.stop();
+        hubConnectionMonitorService.removeListener(hubConnectionRestoredListener);
+        hubComponentLookupService.removeRefreshListener(staleComponentRefreshedListener);
         componentInspectorService.shutDown();
         ResourcesPlugin.getWorkspace().removeResourceChangeListener(newProjectListener);
         ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectDeletedListener);
         JavaCore.removeElementChangedListener(projectComponentsChangedListener);
+        InstanceScope.INSTANCE.getNode(JavaCore.PLUGIN_ID).removePreferenceChangeListener(classpathVariableChangedListener);
+        projectComponentsChangedListener.shutDown();
+        componentInspectorService.saveInventorySnapshot();
+        hubComponentLookupService.shutDown();
+        log.info("Black Duck component cache statistics: " + hubComponentLookupService.getCacheStatistics());
         try {
             super.stop(context);
         } catch (final Exception e) {
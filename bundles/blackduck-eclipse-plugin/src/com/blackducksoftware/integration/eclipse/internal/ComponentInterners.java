@@ -0,0 +1,56 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal;
+
+import java.util.Arrays;
+
+import com.blackducksoftware.integration.eclipse.internal.datastructures.WeakInterner;
+import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+/**
+ * Workspace-wide pools for the values a ComponentModel is made of. The same component, license and severity counts turn up in
+ * many projects and in every lookup, so each distinct value is only kept once.
+ */
+public final class ComponentInterners {
+    private static final WeakInterner<ExternalId> EXTERNAL_IDS = new WeakInterner<>();
+    private static final WeakInterner<ComplexLicenseView> LICENSES = new WeakInterner<>();
+    private static final WeakInterner<int[]> VULNERABILITY_COUNTS = new WeakInterner<>(Arrays::hashCode, Arrays::equals);
+
+    private ComponentInterners() {
+    }
+
+    public static ExternalId internExternalId(final ExternalId externalId) {
+        return EXTERNAL_IDS.intern(externalId);
+    }
+
+    public static ComplexLicenseView internLicense(final ComplexLicenseView license) {
+        return LICENSES.intern(license);
+    }
+
+    public static int[] internVulnerabilityCount(final int[] vulnerabilityCount) {
+        return VULNERABILITY_COUNTS.intern(vulnerabilityCount);
+    }
+
+}
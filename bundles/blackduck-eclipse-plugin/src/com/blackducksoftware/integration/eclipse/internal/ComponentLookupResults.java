@@ -23,24 +23,30 @@
  */
 package com.blackducksoftware.integration.eclipse.internal;
 
-import java.util.Comparator;
-
-public class ComponentModelVulnerabilityFirstComparator implements Comparator<ComponentModel> {
-    @Override
-    public int compare(final ComponentModel o1, final ComponentModel o2) {
-        final int[] gav1vulns = o1.getVulnerabilityCount();
-        final int[] gav2vulns = o2.getVulnerabilityCount();
-        for (int i = 0; i < gav1vulns.length; i++) {
-            final int compareVal = gav2vulns[i] - gav1vulns[i];
-            if (compareVal != 0) {
-                return compareVal;
-            }
-        }
-        if (Boolean.compare(o1.getComponentIsKnown(), o2.getComponentIsKnown()) != 0) {
-            return Boolean.compare(o1.getComponentIsKnown(), o2.getComponentIsKnown());
-        }
-        return (o1.getExternalId().name + o1.getExternalId().version).compareTo(
-                (o2.getExternalId().name + o2.getExternalId().version));
+import java.util.Collections;
+import java.util.Map;
+
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class ComponentLookupResults {
+    private final Map<ExternalId, ComponentModel> components;
+    private final Map<ExternalId, Throwable> failures;
+
+    public ComponentLookupResults(final Map<ExternalId, ComponentModel> components, final Map<ExternalId, Throwable> failures) {
+        this.components = Collections.unmodifiableMap(components);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    public Map<ExternalId, ComponentModel> getComponents() {
+        return components;
+    }
+
+    public Map<ExternalId, Throwable> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
     }
 
 }
@@ -31,24 +31,45 @@ public class ComponentModel {
     private final ComplexLicenseView license;
     private final int[] vulnerabilityCount;
     private final boolean componentIsKnown;
+    private final boolean componentIsStale;
 
     public ComponentModel(final ExternalId gav, final ComplexLicenseView license, final int[] vulnerabilityCount, final boolean componentIsKnown) {
-        this.gav = gav;
-        this.license = license;
-        this.vulnerabilityCount = vulnerabilityCount;
+        this(gav, license, vulnerabilityCount, componentIsKnown, false);
+    }
+
+    public ComponentModel(final ExternalId gav, final ComplexLicenseView license, final int[] vulnerabilityCount, final boolean componentIsKnown, final boolean componentIsStale) {
+        this.gav = ComponentInterners.internExternalId(gav);
+        this.license = ComponentInterners.internLicense(license);
+        this.vulnerabilityCount = ComponentInterners.internVulnerabilityCount(vulnerabilityCount);
         this.componentIsKnown = componentIsKnown;
+        this.componentIsStale = componentIsStale;
     }
 
+    public ComponentModel asStale() {
+        return componentIsStale ? this : new ComponentModel(gav, license, vulnerabilityCount, componentIsKnown, true);
+    }
+
+    // Interned, so the same instance is shared by every model of this component and must not be modified
     public ExternalId getExternalId() {
         return gav;
     }
 
+    // Interned like the external id, so it must not be modified either
     public ComplexLicenseView getLicense() {
         return license;
     }
 
+    // A copy, since the interned counts are shared with other components
     public int[] getVulnerabilityCount() {
-        return vulnerabilityCount;
+        return vulnerabilityCount.clone();
+    }
+
+    public int getVulnerabilityCount(final int severity) {
+        return vulnerabilityCount[severity];
+    }
+
+    public int getSeverityCount() {
+        return vulnerabilityCount.length;
     }
 
     public boolean getComponentIsKnown() {
@@ -59,4 +80,9 @@ public class ComponentModel {
         return license != null;
     }
 
+    // Stale components are served from the cache past their time to live while a refresh from the Hub is pending
+    public boolean getComponentIsStale() {
+        return componentIsStale;
+    }
+
 }
@@ -0,0 +1,81 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Collapses bursts of refresh requests from worker threads into a single refresh on the UI thread, run at most once per
+ * flush interval. Requesting a refresh never blocks the caller.
+ */
+public class DisplayRefreshCoalescer {
+    private final int flushInterval;
+    private final Runnable refresh;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile Display scheduledDisplay;
+
+    public DisplayRefreshCoalescer(final int flushInterval, final Runnable refresh) {
+        this.flushInterval = flushInterval;
+        this.refresh = refresh;
+    }
+
+    public void requestRefresh() {
+        // Display.getDefault() would create a display on a worker thread if the workbench is gone
+        if (!PlatformUI.isWorkbenchRunning()) {
+            return;
+        }
+        final Display display = PlatformUI.getWorkbench().getDisplay();
+        final Display previousDisplay = scheduledDisplay;
+        if (previousDisplay != null && previousDisplay.isDisposed()) {
+            // A flush pending on a display that has since been disposed will never run
+            flushScheduled.set(false);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduledDisplay = display;
+            try {
+                // Timers can only be started from the UI thread
+                display.asyncExec(() -> {
+                    try {
+                        display.timerExec(flushInterval, this::flush);
+                    } catch (final SWTException e) {
+                        flushScheduled.set(false);
+                    }
+                });
+            } catch (final SWTException e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    private void flush() {
+        // Cleared first, so that changes made while refreshing schedule another flush
+        flushScheduled.set(false);
+        refresh.run();
+    }
+
+}
@@ -0,0 +1,57 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
+
+public class HubConnectionMonitorJob extends Job {
+    public static final String JOB_CHECK_CONNECTION = "Black Duck Hub connection check";
+
+    private final HubConnectionMonitorService hubConnectionMonitorService;
+
+    public HubConnectionMonitorJob(final HubConnectionMonitorService hubConnectionMonitorService) {
+        super(JOB_CHECK_CONNECTION);
+        this.hubConnectionMonitorService = hubConnectionMonitorService;
+        this.setSystem(true);
+        this.setPriority(Job.SHORT);
+    }
+
+    @Override
+    protected IStatus run(final IProgressMonitor monitor) {
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+        final long nextCheckDelay = hubConnectionMonitorService.refresh();
+        if (nextCheckDelay > 0 && !monitor.isCanceled()) {
+            this.schedule(nextCheckDelay);
+        }
+        return Status.OK_STATUS;
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubComponentLookupService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionManagerService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
+import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
+
+/**
+ * Applies changed Hub preferences once they stop changing. Saving the preference page changes several keys one at a time, and
+ * they are handled together so that the cache is cleared and the connection checked only once per save.
+ */
+public class HubPreferencesChangedJob extends Job {
+    public static final String JOB_APPLY_HUB_PREFERENCES = "Black Duck Hub applying changed preferences";
+    public static final long QUIET_PERIOD = 500;
+
+    private static final Set<String> HUB_IDENTITY_PREFERENCES = new HashSet<>(Arrays.asList(
+            HubPreferencesService.HUB_USERNAME,
+            HubPreferencesService.HUB_PASSWORD,
+            HubPreferencesService.HUB_PASSWORD_LENGTH,
+            HubPreferencesService.HUB_URL));
+
+    private static final Set<String> HUB_CONNECTION_PREFERENCES = new HashSet<>(Arrays.asList(
+            HubPreferencesService.HUB_TIMEOUT,
+            HubPreferencesService.HUB_ALWAYS_TRUST,
+            HubPreferencesService.PROXY_USERNAME,
+            HubPreferencesService.PROXY_PASSWORD,
+            HubPreferencesService.PROXY_PASSWORD_LENGTH,
+            HubPreferencesService.PROXY_HOST,
+            HubPreferencesService.PROXY_PORT));
+
+    private static final Set<String> HUB_LOOKUP_PREFERENCES = new HashSet<>(Arrays.asList(
+            HubPreferencesService.HUB_MAX_CONCURRENT_REQUESTS,
+            HubPreferencesService.HUB_REQUESTS_PER_SECOND,
+            HubPreferencesService.HUB_CACHE_HARD_EXPIRY_HOURS,
+            HubPreferencesService.HUB_IGNORED_GROUP_IDS));
+
+    private final HubConnectionManagerService hubConnectionManagerService;
+    private final HubConnectionMonitorService hubConnectionMonitorService;
+    private final HubComponentLookupService hubComponentLookupService;
+    private final ComponentInspectorService componentInspectorService;
+    private final Set<String> changedPreferences = ConcurrentHashMap.newKeySet();
+
+    public HubPreferencesChangedJob(final HubConnectionManagerService hubConnectionManagerService, final HubConnectionMonitorService hubConnectionMonitorService, final HubComponentLookupService hubComponentLookupService,
+            final ComponentInspectorService componentInspectorService) {
+        super(JOB_APPLY_HUB_PREFERENCES);
+        this.hubConnectionManagerService = hubConnectionManagerService;
+        this.hubConnectionMonitorService = hubConnectionMonitorService;
+        this.hubComponentLookupService = hubComponentLookupService;
+        this.componentInspectorService = componentInspectorService;
+        this.setSystem(true);
+        this.setPriority(Job.SHORT);
+    }
+
+    public void preferenceChanged(final String preference) {
+        if (HUB_IDENTITY_PREFERENCES.contains(preference) || HUB_CONNECTION_PREFERENCES.contains(preference) || HUB_LOOKUP_PREFERENCES.contains(preference)) {
+            changedPreferences.add(preference);
+            // Scheduling a waiting job pushes its run back, so a whole save is applied in one go
+            this.schedule(QUIET_PERIOD);
+        }
+    }
+
+    public void discardPendingChanges() {
+        changedPreferences.clear();
+        this.cancel();
+    }
+
+    @Override
+    protected IStatus run(final IProgressMonitor monitor) {
+        final Set<String> changes = new HashSet<>(changedPreferences);
+        changedPreferences.removeAll(changes);
+        if (changes.isEmpty() || monitor.isCanceled()) {
+            return Status.OK_STATUS;
+        }
+        final boolean identityChanged = changes.stream().anyMatch(HUB_IDENTITY_PREFERENCES::contains);
+        if (changes.stream().anyMatch(HUB_LOOKUP_PREFERENCES::contains)) {
+            hubComponentLookupService.applyLookupPreferences();
+        }
+        if (identityChanged) {
+            // Results from a different Hub, or seen by a different user, may not hold for the new one
+            hubComponentLookupService.clearCache();
+            componentInspectorService.forgetInspectedComponents();
+            hubConnectionMonitorService.invalidate();
+        } else if (changes.stream().anyMatch(HUB_CONNECTION_PREFERENCES::contains)) {
+            // Same Hub reached another way, so the cached results stay valid and only the session is rebuilt
+            hubConnectionMonitorService.invalidate();
+        } else if (changes.contains(HubPreferencesService.HUB_MAX_CONCURRENT_REQUESTS)) {
+            // The session's connection pool is sized when it is built, so rebuild it to match the new request pool
+            hubConnectionManagerService.invalidateSession();
+        }
+        if (changes.contains(HubPreferencesService.HUB_IGNORED_GROUP_IDS) && !identityChanged) {
+            // Components that are no longer ignored need looking up, and newly ignored ones need to show as unknown
+            componentInspectorService.forgetInspectedComponents();
+            componentInspectorService.inspectAllProjects();
+        }
+        return Status.OK_STATUS;
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal;
+
+import com.blackducksoftware.integration.hub.service.ComponentService;
+import com.blackducksoftware.integration.hub.service.HubServicesFactory;
+import com.blackducksoftware.integration.hub.service.LicenseService;
+import com.blackducksoftware.integration.rest.connection.RestConnection;
+
+public class HubSession {
+    private final RestConnection restConnection;
+    private final HubServicesFactory hubServicesFactory;
+    private final ComponentService componentService;
+    private final LicenseService licenseService;
+
+    public HubSession(final RestConnection restConnection) {
+        this.restConnection = restConnection;
+        this.hubServicesFactory = new HubServicesFactory(restConnection);
+        this.componentService = hubServicesFactory.createComponentService();
+        this.licenseService = hubServicesFactory.createLicenseService();
+    }
+
+    public RestConnection getRestConnection() {
+        return restConnection;
+    }
+
+    public HubServicesFactory getHubServicesFactory() {
+        return hubServicesFactory;
+    }
+
+    public ComponentService getComponentService() {
+        return componentService;
+    }
+
+    public LicenseService getLicenseService() {
+        return licenseService;
+    }
+
+}
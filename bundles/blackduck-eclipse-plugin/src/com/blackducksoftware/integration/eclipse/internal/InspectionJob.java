@@ -24,11 +24,19 @@
 package com.blackducksoftware.integration.eclipse.internal;
 
 import java.net.URL;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
@@ -37,7 +45,7 @@ import org.slf4j.LoggerFactory;
 
 import com.blackducksoftware.integration.eclipse.services.ComponentInformationService;
 import com.blackducksoftware.integration.eclipse.services.ProjectInformationService;
-import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorPreferencesService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
@@ -50,24 +58,25 @@ public class InspectionJob extends Job {
     private static final int ONE_HUNDRED_PERCENT = 100000;
     private static final int THIRTY_PERCENT = 30000;
     private static final int SEVENTY_PERCENT = 70000;
+    private static final long CANCELLATION_CHECK_INTERVAL = 100;
 
     private final String projectName;
     private final ComponentInspectorService componentInspectorService;
     private final ProjectInformationService projectInformationService;
     private final ComponentInformationService componentInformationService;
     private final ComponentInspectorPreferencesService componentInspectorPreferencesService;
-    private final HubPreferencesService hubPreferencesService;
+    private final HubConnectionMonitorService hubConnectionMonitorService;
 
     public InspectionJob(final String projectName,
             final ComponentInspectorService componentInspectorService,
             final ComponentInspectorPreferencesService componentInspectorPreferencesService,
-            final HubPreferencesService hubPreferencesService,
+            final HubConnectionMonitorService hubConnectionMonitorService,
             final ComponentInformationService componentInformationService,
             final ProjectInformationService projectInformationService) {
         super(JOB_INSPECT_PROJECT_PREFACE + projectName);
         this.projectName = projectName;
         this.componentInspectorService = componentInspectorService;
-        this.hubPreferencesService = hubPreferencesService;
+        this.hubConnectionMonitorService = hubConnectionMonitorService;
         this.projectInformationService = projectInformationService;
         this.componentInformationService = componentInformationService;
         this.componentInspectorPreferencesService = componentInspectorPreferencesService;
@@ -86,25 +95,56 @@ public class InspectionJob extends Job {
     @Override
     protected IStatus run(final IProgressMonitor monitor) {
         try {
-            if (componentInspectorPreferencesService.isProjectMarkedForInspection(projectName) && hubPreferencesService.canEstablishHubConnection()) {
-                componentInspectorService.initializeProjectComponents(projectName);
+            if (componentInspectorPreferencesService.isProjectMarkedForInspection(projectName) && hubConnectionMonitorService.isConnected()) {
+                if (!componentInspectorService.isProjectInitialized(projectName)) {
+                    componentInspectorService.initializeProjectComponents(projectName);
+                }
                 final SubMonitor subMonitor = SubMonitor.convert(monitor, ONE_HUNDRED_PERCENT);
                 subMonitor.setTaskName("Gathering dependencies");
                 final List<URL> componentUrls = projectInformationService.getProjectComponentUrls(projectName);
-                subMonitor.split(THIRTY_PERCENT).done();
+                final Set<ExternalId> currentExternalIds = new LinkedHashSet<>();
                 for (final URL componentUrl : componentUrls) {
-                    subMonitor.setTaskName(String.format("Inspecting %s", componentUrl));
                     final Optional<ExternalId> optionalExternalId = componentInformationService.constructMavenExternalIdFromUrl(componentUrl);
                     if (optionalExternalId.isPresent()) {
-                        componentInspectorService.addComponentToProject(projectName, optionalExternalId.get());
-                        if (componentUrls.size() < SEVENTY_PERCENT) {
-                            subMonitor.split(SEVENTY_PERCENT / componentUrls.size()).done();
+                        currentExternalIds.add(optionalExternalId.get());
+                    }
+                }
+                subMonitor.split(THIRTY_PERCENT).done();
+                // Components that left the classpath are removed; all others go through the component cache, which refreshes stale ones
+                final Set<ExternalId> inspectedExternalIds = new HashSet<>(componentInspectorService.getInspectedExternalIds(projectName));
+                // Components restored from the inventory snapshot are shown without having been inspected
+                final Set<ExternalId> shownExternalIds = new HashSet<>(inspectedExternalIds);
+                final List<ComponentModel> shownComponents = componentInspectorService.getProjectComponents(projectName);
+                if (shownComponents != null) {
+                    shownComponents.forEach(component -> shownExternalIds.add(component.getExternalId()));
+                }
+                for (final ExternalId shownExternalId : shownExternalIds) {
+                    if (!currentExternalIds.contains(shownExternalId)) {
+                        componentInspectorService.removeComponentFromProject(projectName, shownExternalId);
+                    }
+                }
+                final int lookupCount = currentExternalIds.size();
+                final BlockingQueue<ExternalId> completedLookups = new LinkedBlockingQueue<>();
+                final CompletableFuture<ComponentLookupResults> lookups = componentInspectorService.addComponentsToProjectAsync(projectName, currentExternalIds, monitor, completedLookups::add);
+                // Lookups run on the shared Hub request pool; progress is only ever reported from this thread
+                int remainingLookups = lookupCount;
+                while (!lookups.isDone() || !completedLookups.isEmpty()) {
+                    subMonitor.setTaskName(String.format("Inspecting components (%d of %d remaining)", remainingLookups, lookupCount));
+                    if (subMonitor.isCanceled()) {
+                        return Status.CANCEL_STATUS;
+                    }
+                    if (completedLookups.poll(CANCELLATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS) != null) {
+                        remainingLookups--;
+                        if (lookupCount < SEVENTY_PERCENT) {
+                            subMonitor.split(SEVENTY_PERCENT / lookupCount).done();
                         } else {
                             subMonitor.split(SEVENTY_PERCENT).done();
                         }
                     }
                 }
             }
+        } catch (final OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
         } catch (final Exception e) {
             log.error("An unexpected exception occurred while the Black Duck Component Inspector was inspecting " + projectName, e);
             return Status.CANCEL_STATUS;
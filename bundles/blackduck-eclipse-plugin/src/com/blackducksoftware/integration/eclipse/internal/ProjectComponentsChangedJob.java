@@ -0,0 +1,127 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class ProjectComponentsChangedJob extends Job {
+    private final Logger log = LoggerFactory.getLogger(ProjectComponentsChangedJob.class);
+
+    public static final String JOB_UPDATE_COMPONENTS = "Black Duck Component Inspector updating changed components";
+    public static final long QUIET_PERIOD = 500;
+    private static final long CANCELLATION_CHECK_INTERVAL = 100;
+
+    private final ComponentInspectorService componentInspectorService;
+    // Per project, whether each changed component was last added (true) or removed (false)
+    private final Map<String, Map<ExternalId, Boolean>> pendingChanges = new ConcurrentHashMap<>();
+
+    public ProjectComponentsChangedJob(final ComponentInspectorService componentInspectorService) {
+        super(JOB_UPDATE_COMPONENTS);
+        this.componentInspectorService = componentInspectorService;
+        this.setPriority(Job.BUILD);
+    }
+
+    public void componentAdded(final String projectName, final ExternalId externalId) {
+        recordChange(projectName, externalId, true);
+    }
+
+    public void componentRemoved(final String projectName, final ExternalId externalId) {
+        recordChange(projectName, externalId, false);
+    }
+
+    public void discardPendingChanges() {
+        pendingChanges.clear();
+        this.cancel();
+    }
+
+    private void recordChange(final String projectName, final ExternalId externalId, final boolean added) {
+        pendingChanges.compute(projectName, (name, changes) -> {
+            final Map<ExternalId, Boolean> projectChanges = changes == null ? new LinkedHashMap<>() : changes;
+            projectChanges.put(externalId, added);
+            return projectChanges;
+        });
+        // Scheduling a waiting job pushes its run back until events stop arriving; a running batch finishes and then runs again
+        this.schedule(QUIET_PERIOD);
+    }
+
+    @Override
+    protected IStatus run(final IProgressMonitor monitor) {
+        final List<CompletableFuture<ComponentLookupResults>> lookups = new ArrayList<>();
+        for (final String projectName : new ArrayList<>(pendingChanges.keySet())) {
+            final Map<ExternalId, Boolean> projectChanges = pendingChanges.remove(projectName);
+            if (projectChanges == null) {
+                continue;
+            }
+            final List<ExternalId> addedExternalIds = new ArrayList<>();
+            for (final Entry<ExternalId, Boolean> change : projectChanges.entrySet()) {
+                if (change.getValue()) {
+                    addedExternalIds.add(change.getKey());
+                } else {
+                    componentInspectorService.removeComponentFromProject(projectName, change.getKey());
+                }
+            }
+            if (!addedExternalIds.isEmpty()) {
+                lookups.add(componentInspectorService.addComponentsToProjectAsync(projectName, addedExternalIds, monitor));
+            }
+        }
+        final CompletableFuture<Void> allLookups = CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[lookups.size()]));
+        while (!allLookups.isDone()) {
+            if (monitor.isCanceled()) {
+                lookups.forEach(lookup -> lookup.cancel(false));
+                return Status.CANCEL_STATUS;
+            }
+            try {
+                allLookups.get(CANCELLATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                // Keep waiting, checking for cancellation in between
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Status.CANCEL_STATUS;
+            } catch (final Exception e) {
+                log.warn("Could not update the changed components", e);
+                break;
+            }
+        }
+        return Status.OK_STATUS;
+    }
+
+}
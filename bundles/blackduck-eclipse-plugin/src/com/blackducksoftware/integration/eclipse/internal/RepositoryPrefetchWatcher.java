@@ -0,0 +1,296 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.eclipse.services.ComponentInformationService;
+import com.blackducksoftware.integration.eclipse.services.ProjectInformationService;
+import com.blackducksoftware.integration.eclipse.services.WorkspaceInformationService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubComponentLookupService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+/**
+ * Watches the local Maven repository and Gradle cache for newly downloaded jars, and looks them up before the classpath change
+ * that uses them arrives. New versions usually land next to ones already in use, so the artifact directories of every jar on
+ * a workspace classpath are always watched. Repositories can hold tens of thousands of directories, so of the rest only the
+ * first maxWatchedDirectories (breadth first) are watched. Directories created inside a watched directory are always watched.
+ */
+public class RepositoryPrefetchWatcher implements Runnable {
+    private final Logger log = LoggerFactory.getLogger(RepositoryPrefetchWatcher.class);
+
+    public static final int MAX_WATCHED_DIRECTORIES = 2048;
+    private static final String JAR_EXTENSION = ".jar";
+    private static final String SOURCES_JAR_SUFFIX = "-sources.jar";
+    private static final String JAVADOC_JAR_SUFFIX = "-javadoc.jar";
+    // The Gradle cache puts a hash directory between the version directory and the jar
+    private static final int MAX_ARTIFACT_DIRECTORY_DEPTH = 3;
+
+    private final Supplier<List<File>> repositoryDirectories;
+    private final Supplier<Collection<File>> classpathFiles;
+    private final int maxWatchedDirectories;
+    private final Consumer<Path> jarCreated;
+    private final Map<WatchKey, Path> watchedDirectories;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public RepositoryPrefetchWatcher(final ComponentInformationService componentInformationService, final WorkspaceInformationService workspaceInformationService, final HubComponentLookupService hubComponentLookupService,
+            final HubConnectionMonitorService hubConnectionMonitorService) {
+        this(componentInformationService::getLocalRepositoryDirectories, new WorkspaceClasspathFiles(workspaceInformationService), MAX_WATCHED_DIRECTORIES,
+                new HubPrefetcher(componentInformationService, hubComponentLookupService, hubConnectionMonitorService));
+    }
+
+    public RepositoryPrefetchWatcher(final Supplier<List<File>> repositoryDirectories, final Supplier<Collection<File>> classpathFiles, final int maxWatchedDirectories, final Consumer<Path> jarCreated) {
+        this.repositoryDirectories = repositoryDirectories;
+        this.classpathFiles = classpathFiles;
+        this.maxWatchedDirectories = maxWatchedDirectories;
+        this.jarCreated = jarCreated;
+        this.watchedDirectories = new HashMap<>();
+    }
+
+    public synchronized void start() {
+        if (watcherThread != null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (final IOException e) {
+            log.warn("Could not watch the local repositories for new dependencies: " + e.getMessage());
+            return;
+        }
+        watcherThread = new Thread(this, "Black Duck repository watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    public synchronized void stop() {
+        if (watcherThread == null) {
+            return;
+        }
+        watcherThread.interrupt();
+        try {
+            watchService.close();
+        } catch (final IOException e) {
+            log.debug("Could not close the repository watch service", e);
+        }
+        watcherThread = null;
+    }
+
+    @Override
+    public void run() {
+        final List<File> repositories = repositoryDirectories.get();
+        for (final Path artifactDirectory : getClasspathArtifactDirectories(repositories)) {
+            watchDirectory(artifactDirectory);
+        }
+        for (final File repositoryDirectory : repositories) {
+            watchDirectoryTree(repositoryDirectory.toPath(), false, maxWatchedDirectories);
+        }
+        log.debug("Watching " + watchedDirectories.size() + " directories in " + repositories + " for new dependencies");
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey watchKey = watchService.take();
+                final Path directory = watchedDirectories.get(watchKey);
+                for (final WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (directory != null && event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        final Path createdPath = directory.resolve((Path) event.context());
+                        if (Files.isDirectory(createdPath)) {
+                            // Files may already have landed in the new directory before it was registered. New directories are
+                            // small, and are where new versions show up, so they don't count against the limit.
+                            watchDirectoryTree(createdPath, true, Integer.MAX_VALUE);
+                        } else {
+                            fileCreated(createdPath);
+                        }
+                    }
+                }
+                if (!watchKey.reset()) {
+                    watchedDirectories.remove(watchKey);
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    public synchronized int getWatchedDirectoryCount() {
+        return watchedDirectories.size();
+    }
+
+    // Maven keeps jars in <artifact>/<version>/, and Gradle in <artifact>/<version>/<hash>/, named <artifact>-<version>*.jar
+    private Set<Path> getClasspathArtifactDirectories(final List<File> repositories) {
+        final Set<Path> artifactDirectories = new LinkedHashSet<>();
+        for (final File classpathFile : classpathFiles.get()) {
+            final Path jar = classpathFile.toPath();
+            if (!isJar(jar) || repositories.stream().noneMatch(repository -> jar.startsWith(repository.toPath()))) {
+                continue;
+            }
+            final String jarName = jar.getFileName().toString();
+            Path child = jar.getParent();
+            for (int depth = 0; child != null && child.getParent() != null && depth < MAX_ARTIFACT_DIRECTORY_DEPTH; depth++) {
+                final Path candidate = child.getParent();
+                if (jarName.startsWith(candidate.getFileName() + "-" + child.getFileName())) {
+                    artifactDirectories.add(candidate);
+                    break;
+                }
+                child = candidate;
+            }
+        }
+        return artifactDirectories;
+    }
+
+    private void watchDirectory(final Path directory) {
+        try {
+            registerDirectory(directory);
+        } catch (final IOException | ClosedWatchServiceException e) {
+            log.debug("Could not watch " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private void watchDirectoryTree(final Path root, final boolean notifyExistingFiles, final int maxDirectories) {
+        final Deque<Path> pendingDirectories = new ArrayDeque<>();
+        pendingDirectories.add(root);
+        int registeredDirectories = 0;
+        while (!pendingDirectories.isEmpty() && getWatchedDirectoryCount() < maxDirectories) {
+            final Path directory = pendingDirectories.poll();
+            try {
+                registerDirectory(directory);
+                registeredDirectories++;
+                try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                    for (final Path child : children) {
+                        if (Files.isDirectory(child)) {
+                            pendingDirectories.add(child);
+                        } else if (notifyExistingFiles) {
+                            fileCreated(child);
+                        }
+                    }
+                }
+            } catch (final IOException | ClosedWatchServiceException e) {
+                log.debug("Could not watch " + directory + ": " + e.getMessage());
+            }
+        }
+        if (!pendingDirectories.isEmpty()) {
+            log.debug("Stopped watching " + root + " after " + registeredDirectories + " directories");
+        }
+    }
+
+    private synchronized void registerDirectory(final Path directory) throws IOException {
+        watchedDirectories.put(directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE), directory);
+    }
+
+    private void fileCreated(final Path file) {
+        if (isJar(file)) {
+            jarCreated.accept(file);
+        }
+    }
+
+    private boolean isJar(final Path file) {
+        final String fileName = file.getFileName().toString();
+        return fileName.endsWith(JAR_EXTENSION) && !fileName.endsWith(SOURCES_JAR_SUFFIX) && !fileName.endsWith(JAVADOC_JAR_SUFFIX);
+    }
+
+    private static class WorkspaceClasspathFiles implements Supplier<Collection<File>> {
+        private final Logger log = LoggerFactory.getLogger(WorkspaceClasspathFiles.class);
+        private final WorkspaceInformationService workspaceInformationService;
+
+        private WorkspaceClasspathFiles(final WorkspaceInformationService workspaceInformationService) {
+            this.workspaceInformationService = workspaceInformationService;
+        }
+
+        @Override
+        public Collection<File> get() {
+            final ProjectInformationService projectInformationService = workspaceInformationService.getProjectInformationService();
+            final List<File> classpathFiles = new ArrayList<>();
+            for (final String projectName : workspaceInformationService.getAllSupportedProjectNames()) {
+                for (final URL componentUrl : projectInformationService.getProjectComponentUrls(projectName)) {
+                    try {
+                        classpathFiles.add(Paths.get(componentUrl.toURI()).toFile());
+                    } catch (final URISyntaxException | RuntimeException e) {
+                        log.debug("Could not locate " + componentUrl + ": " + e.getMessage());
+                    }
+                }
+            }
+            return classpathFiles;
+        }
+    }
+
+    private static class HubPrefetcher implements Consumer<Path> {
+        private final Logger log = LoggerFactory.getLogger(HubPrefetcher.class);
+        private final ComponentInformationService componentInformationService;
+        private final HubComponentLookupService hubComponentLookupService;
+        private final HubConnectionMonitorService hubConnectionMonitorService;
+
+        private HubPrefetcher(final ComponentInformationService componentInformationService, final HubComponentLookupService hubComponentLookupService, final HubConnectionMonitorService hubConnectionMonitorService) {
+            this.componentInformationService = componentInformationService;
+            this.hubComponentLookupService = hubComponentLookupService;
+            this.hubConnectionMonitorService = hubConnectionMonitorService;
+        }
+
+        @Override
+        public void accept(final Path jar) {
+            if (!hubConnectionMonitorService.isConnected()) {
+                return;
+            }
+            try {
+                final Optional<ExternalId> externalId = componentInformationService.constructMavenExternalIdFromUrl(jar.toUri().toURL());
+                if (externalId.isPresent()) {
+                    log.debug("Prefetching " + externalId.get().createExternalId());
+                    hubComponentLookupService.lookupComponentAsync(externalId.get(), new NullProgressMonitor());
+                }
+            } catch (final MalformedURLException | RuntimeException e) {
+                log.debug("Could not prefetch " + jar + ": " + e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+public class ComponentModelCodec {
+    private static final int NULL_STRING_LENGTH = -1;
+
+    private final Gson gson;
+
+    public ComponentModelCodec() {
+        this.gson = new GsonBuilder().setExclusionStrategies(new RawJsonExclusionStrategy()).create();
+    }
+
+    public void writeComponent(final DataOutputStream output, final ComponentModel component) throws IOException {
+        final ExternalId externalId = component.getExternalId();
+        writeString(output, externalId.forge.getName());
+        writeString(output, externalId.group);
+        writeString(output, externalId.name);
+        writeString(output, externalId.version);
+        output.writeBoolean(component.getComponentIsKnown());
+        output.writeInt(component.getVulnerabilityCount(0));
+        output.writeInt(component.getVulnerabilityCount(1));
+        output.writeInt(component.getVulnerabilityCount(2));
+        writeString(output, component.getLicenseIsKnown() ? gson.toJson(component.getLicense()) : null);
+    }
+
+    public ComponentModel readComponent(final ByteBuffer input) throws IOException {
+        try {
+            final Forge forge = Forge.FORGE_NAME_TO_FORGE.get(readString(input));
+            if (forge == null) {
+                throw new IOException("Unknown forge");
+            }
+            final ExternalId externalId = new ExternalId(forge);
+            externalId.group = readString(input);
+            externalId.name = readString(input);
+            externalId.version = readString(input);
+            final boolean componentKnown = input.get() != 0;
+            final int[] vulnerabilityCount = new int[] { input.getInt(), input.getInt(), input.getInt() };
+            final String licenseJson = readString(input);
+            final ComplexLicenseView license = licenseJson == null ? null : gson.fromJson(licenseJson, ComplexLicenseView.class);
+            return new ComponentModel(externalId, license, vulnerabilityCount, componentKnown);
+        } catch (final BufferUnderflowException | JsonParseException e) {
+            throw new IOException("Malformed component", e);
+        }
+    }
+
+    public void writeString(final DataOutputStream output, final String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_STRING_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    public String readString(final ByteBuffer input) throws IOException {
+        final int length = input.getInt();
+        if (length == NULL_STRING_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > input.remaining()) {
+            throw new IOException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // The raw response body is kept on every Hub view, but is not needed to display the license
+    private static class RawJsonExclusionStrategy implements ExclusionStrategy {
+        @Override
+        public boolean shouldSkipField(final FieldAttributes field) {
+            return "json".equals(field.getName());
+        }
+
+        @Override
+        public boolean shouldSkipClass(final Class<?> clazz) {
+            return false;
+        }
+    }
+
+}
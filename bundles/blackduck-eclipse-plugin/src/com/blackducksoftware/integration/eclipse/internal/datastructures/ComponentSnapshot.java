@@ -0,0 +1,62 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+
+/**
+ * An immutable, sorted copy of the components of a project. Versions are unique across all projects, so a reader can tell
+ * that nothing changed by comparing the version of the snapshot it last displayed.
+ */
+public class ComponentSnapshot {
+    private final long version;
+    private final ComponentModel[] components;
+
+    public ComponentSnapshot(final long version, final ComponentModel[] components) {
+        this.version = version;
+        this.components = components;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // The array is shared by every reader of the snapshot and must not be modified
+    public ComponentModel[] getComponents() {
+        return components;
+    }
+
+    public List<ComponentModel> getComponentList() {
+        return Collections.unmodifiableList(Arrays.asList(components));
+    }
+
+    public int size() {
+        return components.length;
+    }
+
+}
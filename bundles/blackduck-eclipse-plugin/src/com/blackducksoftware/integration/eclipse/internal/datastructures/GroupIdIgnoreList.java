@@ -0,0 +1,86 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+/**
+ * Comma separated group id patterns, where * matches any run of characters (e.g. "com.ourcompany.*, org.internal"). A pattern
+ * ending in ".*" also matches the group it is under, so "com.ourcompany.*" covers com.ourcompany but not com.ourcompanyx.
+ */
+public class GroupIdIgnoreList {
+    private static final String SUBGROUP_WILDCARD = ".*";
+
+    private final String patternList;
+    private final List<Pattern> patterns;
+
+    public GroupIdIgnoreList(final String patternList) {
+        this.patternList = StringUtils.defaultString(patternList);
+        this.patterns = new ArrayList<>();
+        for (final String groupIdPattern : this.patternList.split(",")) {
+            if (StringUtils.isNotBlank(groupIdPattern)) {
+                patterns.add(toPattern(groupIdPattern.trim()));
+            }
+        }
+    }
+
+    public String getPatternList() {
+        return patternList;
+    }
+
+    public boolean isIgnored(final ExternalId externalId) {
+        if (externalId.group == null) {
+            return false;
+        }
+        for (final Pattern pattern : patterns) {
+            if (pattern.matcher(externalId.group).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Pattern toPattern(final String groupIdPattern) {
+        final boolean matchesSubgroups = groupIdPattern.length() > SUBGROUP_WILDCARD.length() && groupIdPattern.endsWith(SUBGROUP_WILDCARD);
+        final String globPattern = matchesSubgroups ? StringUtils.removeEnd(groupIdPattern, SUBGROUP_WILDCARD) : groupIdPattern;
+        final StringBuilder regex = new StringBuilder();
+        for (final String literal : globPattern.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(literal));
+        }
+        if (matchesSubgroups) {
+            regex.append("(\\..*)?");
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+}
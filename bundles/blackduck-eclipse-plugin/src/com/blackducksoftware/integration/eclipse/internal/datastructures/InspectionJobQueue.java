@@ -23,11 +23,20 @@
  */
 package com.blackducksoftware.integration.eclipse.internal.datastructures;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Set;
+import java.util.function.IntSupplier;
 
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.jobs.IJobManager;
 import org.eclipse.core.runtime.jobs.Job;
 
@@ -35,12 +44,16 @@ import com.blackducksoftware.integration.eclipse.internal.InspectionJob;
 import com.blackducksoftware.integration.eclipse.internal.listeners.InspectionJobChangeListener;
 
 public class InspectionJobQueue {
-    public final ConcurrentLinkedQueue<InspectionJob> inspectionQueue;
+    private final Deque<InspectionJob> scheduledQueue = new ArrayDeque<>();
+    private final Map<String, InspectionJob> scheduledInspections = new HashMap<>();
+    private final Map<String, InspectionJob> runningInspections = new LinkedHashMap<>();
+    private final Set<InspectionJob> preemptedInspections = new HashSet<>();
+    private final IntSupplier maxConcurrentInspections;
     private Optional<InspectionJobChangeListener> inspectionJobChangeListener = Optional.empty();
-    private Optional<InspectionJob> currentInspection = Optional.empty();
+    private String priorityProjectName = "";
 
-    public InspectionJobQueue(final InspectionJobChangeListener inspectionJobChangeListener) {
-        this.inspectionQueue = new ConcurrentLinkedQueue<>();
+    public InspectionJobQueue(final InspectionJobChangeListener inspectionJobChangeListener, final IntSupplier maxConcurrentInspections) {
+        this.maxConcurrentInspections = maxConcurrentInspections;
         this.inspectionJobChangeListener = Optional.ofNullable(inspectionJobChangeListener);
         if (this.inspectionJobChangeListener.isPresent()) {
             this.inspectionJobChangeListener.get().registerInspectionJobQueue(this);
@@ -48,27 +61,54 @@ public class InspectionJobQueue {
     }
 
     public boolean enqueueInspection(final InspectionJob inspection) {
-        if (inspection == null || !inspectionJobChangeListener.isPresent() || getInspectionIsRunning(inspection.getProjectName()) || getInspectionIsScheduled(inspection.getProjectName())) {
+        if (inspection == null || !inspectionJobChangeListener.isPresent()) {
             return false;
         }
-        inspection.addJobChangeListener(inspectionJobChangeListener.get());
-        if (!currentInspection.isPresent()) {
-            currentInspection = Optional.ofNullable(inspection);
-            if (currentInspection.isPresent()) {
-                currentInspection.get().schedule();
-                return true;
+        final List<InspectionJob> inspectionsToStart;
+        final Optional<InspectionJob> inspectionToPreempt;
+        synchronized (this) {
+            final String projectName = inspection.getProjectName();
+            if (runningInspections.containsKey(projectName) || scheduledInspections.containsKey(projectName)) {
+                return false;
             }
+            inspection.addJobChangeListener(inspectionJobChangeListener.get());
+            scheduledInspections.put(projectName, inspection);
+            if (projectName.equals(priorityProjectName)) {
+                scheduledQueue.addFirst(inspection);
+            } else {
+                scheduledQueue.addLast(inspection);
+            }
+            inspectionsToStart = claimFreeSlots();
+            inspectionToPreempt = preemptForPriorityProject();
+        }
+        startAndPreempt(inspectionsToStart, inspectionToPreempt);
+        return true;
+    }
+
+    public void prioritizeInspection(final String projectName) {
+        final List<InspectionJob> inspectionsToStart;
+        final Optional<InspectionJob> inspectionToPreempt;
+        synchronized (this) {
+            priorityProjectName = projectName;
+            final InspectionJob inspection = scheduledInspections.get(projectName);
+            if (inspection == null) {
+                return;
+            }
+            scheduledQueue.remove(inspection);
+            scheduledQueue.addFirst(inspection);
+            inspectionsToStart = claimFreeSlots();
+            inspectionToPreempt = preemptForPriorityProject();
         }
-        return inspectionQueue.add(inspection);
+        startAndPreempt(inspectionsToStart, inspectionToPreempt);
     }
 
-    public Optional<InspectionJob> getCurrentInspection() {
-        return currentInspection;
+    public synchronized List<InspectionJob> getRunningInspections() {
+        return new ArrayList<>(runningInspections.values());
     }
 
-    public List<String> getScheduledInspectionsNames() {
+    public synchronized List<String> getScheduledInspectionsNames() {
         final ArrayList<String> scheduledInspectionList = new ArrayList<>();
-        inspectionQueue.forEach(inspection -> scheduledInspectionList.add(inspection.getName()));
+        scheduledQueue.forEach(inspection -> scheduledInspectionList.add(inspection.getName()));
         return scheduledInspectionList;
     }
 
@@ -82,45 +122,94 @@ public class InspectionJobQueue {
         return inspectionList;
     }
 
-    public boolean getInspectionIsRunning(final String projectName) {
-        return currentInspection.isPresent() && currentInspection.get().getProjectName().equals(projectName);
+    public synchronized boolean getInspectionIsRunning(final String projectName) {
+        return runningInspections.containsKey(projectName);
     }
 
-    public boolean getInspectionIsScheduled(final String projectName) {
-        for (final InspectionJob queuedInspection : inspectionQueue) {
-            if (queuedInspection.getProjectName().equals(projectName)) {
-                return true;
-            }
-        }
-        return false;
+    public synchronized boolean getInspectionIsScheduled(final String projectName) {
+        return scheduledInspections.containsKey(projectName);
     }
 
-    public void currentInspectionDone() {
-        currentInspection = Optional.empty();
-        if (!inspectionQueue.isEmpty()) {
-            final InspectionJob nextJob = inspectionQueue.poll();
-            currentInspection = Optional.of(nextJob);
-            nextJob.schedule();
+    public void inspectionDone(final InspectionJob inspection) {
+        final List<InspectionJob> inspectionsToStart;
+        synchronized (this) {
+            final String projectName = inspection.getProjectName();
+            runningInspections.remove(projectName, inspection);
+            if (preemptedInspections.remove(inspection) && wasCanceled(inspection) && !scheduledInspections.containsKey(projectName)) {
+                // A preempted inspection resumes as soon as the prioritized project has a slot, unless it finished before it noticed
+                final InspectionJob priorityInspection = scheduledInspections.get(priorityProjectName);
+                if (priorityInspection != null && scheduledQueue.peekFirst() == priorityInspection) {
+                    scheduledQueue.pollFirst();
+                    scheduledQueue.addFirst(inspection);
+                    scheduledQueue.addFirst(priorityInspection);
+                } else {
+                    scheduledQueue.addFirst(inspection);
+                }
+                scheduledInspections.put(projectName, inspection);
+            }
+            inspectionsToStart = claimFreeSlots();
         }
+        startAndPreempt(inspectionsToStart, Optional.empty());
     }
 
     public void cancelAll() {
-        inspectionQueue.forEach(inspection -> {
+        final List<InspectionJob> inspectionsToCancel;
+        synchronized (this) {
+            inspectionsToCancel = new ArrayList<>(scheduledQueue);
+            inspectionsToCancel.addAll(runningInspections.values());
+            scheduledQueue.clear();
+            scheduledInspections.clear();
+            runningInspections.clear();
+            preemptedInspections.clear();
+        }
+        inspectionsToCancel.forEach(inspection -> {
             if (inspectionJobChangeListener.isPresent()) {
                 inspection.removeJobChangeListener(inspectionJobChangeListener.get());
             }
             inspection.cancel();
         });
-        while (!inspectionQueue.isEmpty()) {
-            inspectionQueue.remove();
+    }
+
+    // Jobs are scheduled and cancelled outside the lock, since both call back into the job change listener
+    private void startAndPreempt(final List<InspectionJob> inspectionsToStart, final Optional<InspectionJob> inspectionToPreempt) {
+        inspectionsToStart.forEach(Job::schedule);
+        inspectionToPreempt.ifPresent(Job::cancel);
+    }
+
+    private List<InspectionJob> claimFreeSlots() {
+        final List<InspectionJob> inspectionsToStart = new ArrayList<>();
+        while (runningInspections.size() < getMaxRunningInspections() && !scheduledQueue.isEmpty()) {
+            final InspectionJob nextInspection = scheduledQueue.pollFirst();
+            scheduledInspections.remove(nextInspection.getProjectName());
+            runningInspections.put(nextInspection.getProjectName(), nextInspection);
+            inspectionsToStart.add(nextInspection);
         }
-        if (currentInspection.isPresent()) {
-            if (inspectionJobChangeListener.isPresent()) {
-                currentInspection.get().removeJobChangeListener(inspectionJobChangeListener.get());
+        return inspectionsToStart;
+    }
+
+    private Optional<InspectionJob> preemptForPriorityProject() {
+        if (!scheduledInspections.containsKey(priorityProjectName) || !preemptedInspections.isEmpty() || runningInspections.size() < getMaxRunningInspections()) {
+            return Optional.empty();
+        }
+        // Preempt the most recently started background inspection, since it has the least work to lose
+        final ListIterator<InspectionJob> runningIterator = new ArrayList<>(runningInspections.values()).listIterator(runningInspections.size());
+        while (runningIterator.hasPrevious()) {
+            final InspectionJob runningInspection = runningIterator.previous();
+            if (!runningInspection.getProjectName().equals(priorityProjectName)) {
+                preemptedInspections.add(runningInspection);
+                return Optional.of(runningInspection);
             }
-            currentInspection.get().cancel();
-            currentInspection = Optional.empty();
         }
+        return Optional.empty();
+    }
+
+    private boolean wasCanceled(final InspectionJob inspection) {
+        final IStatus result = inspection.getResult();
+        return result != null && result.getSeverity() == IStatus.CANCEL;
+    }
+
+    private int getMaxRunningInspections() {
+        return Math.max(1, maxConcurrentInspections.getAsInt());
     }
 
 }
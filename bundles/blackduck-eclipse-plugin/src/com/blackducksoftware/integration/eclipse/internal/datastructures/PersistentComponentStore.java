@@ -0,0 +1,237 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+/**
+ * Append-only file of looked up components. The file starts with a magic number and format version, followed by records of
+ * [payload length][CRC32 of payload][payload]. A later record for the same component replaces an earlier one.
+ */
+public class PersistentComponentStore {
+    private final Logger log = LoggerFactory.getLogger(PersistentComponentStore.class);
+
+    public static final int MAGIC_NUMBER = 0x42444343;
+    public static final int FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    private final File storeFile;
+    private final long timeToLive;
+    private final ComponentModelCodec componentModelCodec;
+    private FileChannel appendChannel;
+
+    public PersistentComponentStore(final File storeFile, final long timeToLive) {
+        this.storeFile = storeFile;
+        this.timeToLive = timeToLive;
+        this.componentModelCodec = new ComponentModelCodec();
+    }
+
+    public synchronized void load(final long now, final BiConsumer<ComponentModel, Long> componentConsumer) {
+        final Map<ExternalId, StoredComponent> storedComponents = new LinkedHashMap<>();
+        int recordCount = 0;
+        long validLength = 0;
+        if (storeFile.isFile()) {
+            try {
+                // Read in one go rather than mapping, since Windows won't truncate or replace a file that is still mapped
+                final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(storeFile.toPath()));
+                if (hasValidHeader(buffer)) {
+                    validLength = buffer.position();
+                    StoredComponent storedComponent;
+                    while ((storedComponent = readRecord(buffer)) != null) {
+                        recordCount++;
+                        validLength = buffer.position();
+                        storedComponents.put(storedComponent.component.getExternalId(), storedComponent);
+                    }
+                } else {
+                    log.info("Discarding the component cache " + storeFile + " since it has an unknown format");
+                }
+            } catch (final IOException e) {
+                log.warn("Could not read the component cache " + storeFile + ": " + e.getMessage());
+                validLength = 0;
+            }
+        }
+        storedComponents.values().removeIf(storedComponent -> storedComponent.writeTime + timeToLive <= now);
+        final List<StoredComponent> liveComponents = new ArrayList<>(storedComponents.values());
+        liveComponents.sort(Comparator.comparingLong(storedComponent -> storedComponent.writeTime));
+        try {
+            if (validLength == 0 || recordCount > 2 * liveComponents.size()) {
+                // Superseded and expired records make up most of the file, so rewrite it with only the live ones
+                rewrite(liveComponents);
+            } else {
+                openAppendChannel(validLength);
+            }
+        } catch (final IOException e) {
+            log.warn("Could not open the component cache " + storeFile + " for writing: " + e.getMessage());
+            closeAppendChannel();
+        }
+        liveComponents.forEach(storedComponent -> componentConsumer.accept(storedComponent.component, storedComponent.writeTime));
+    }
+
+    public synchronized void append(final ComponentModel component, final long writeTime) {
+        if (appendChannel == null) {
+            return;
+        }
+        try {
+            final ByteBuffer record = encodeRecord(component, writeTime);
+            while (record.hasRemaining()) {
+                appendChannel.write(record);
+            }
+        } catch (final IOException e) {
+            log.warn("Could not write to the component cache " + storeFile + ": " + e.getMessage());
+            closeAppendChannel();
+        }
+    }
+
+    public synchronized void clear() {
+        try {
+            rewrite(new ArrayList<>());
+        } catch (final IOException e) {
+            log.warn("Could not clear the component cache " + storeFile + ": " + e.getMessage());
+            closeAppendChannel();
+        }
+    }
+
+    public synchronized void close() {
+        closeAppendChannel();
+    }
+
+    private void rewrite(final List<StoredComponent> storedComponents) throws IOException {
+        closeAppendChannel();
+        final File parentDirectory = storeFile.getAbsoluteFile().getParentFile();
+        Files.createDirectories(parentDirectory.toPath());
+        final File temporaryFile = new File(parentDirectory, storeFile.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.putInt(MAGIC_NUMBER).putInt(FORMAT_VERSION).flip();
+            writeFully(channel, header);
+            for (final StoredComponent storedComponent : storedComponents) {
+                writeFully(channel, encodeRecord(storedComponent.component, storedComponent.writeTime));
+            }
+        }
+        Files.move(temporaryFile.toPath(), storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openAppendChannel(storeFile.length());
+    }
+
+    private void openAppendChannel(final long validLength) throws IOException {
+        appendChannel = FileChannel.open(storeFile.toPath(), StandardOpenOption.WRITE);
+        // Drop a record left half-written by a crash, so new records follow the last good one
+        appendChannel.truncate(validLength);
+        appendChannel.position(validLength);
+    }
+
+    private void closeAppendChannel() {
+        if (appendChannel != null) {
+            try {
+                appendChannel.close();
+            } catch (final IOException e) {
+                log.debug("Could not close the component cache " + storeFile, e);
+            }
+            appendChannel = null;
+        }
+    }
+
+    private void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private boolean hasValidHeader(final ByteBuffer buffer) {
+        return buffer.remaining() >= HEADER_LENGTH && buffer.getInt() == MAGIC_NUMBER && buffer.getInt() == FORMAT_VERSION;
+    }
+
+    // Returns null at the end of the file, or at the first truncated or corrupted record
+    private StoredComponent readRecord(final ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_HEADER_LENGTH) {
+            return null;
+        }
+        final int payloadLength = buffer.getInt();
+        final long expectedChecksum = buffer.getInt() & 0xFFFFFFFFL;
+        if (payloadLength <= 0 || payloadLength > MAX_RECORD_LENGTH || payloadLength > buffer.remaining()) {
+            return null;
+        }
+        final byte[] payload = new byte[payloadLength];
+        buffer.get(payload);
+        final CRC32 checksum = new CRC32();
+        checksum.update(payload);
+        if (checksum.getValue() != expectedChecksum) {
+            return null;
+        }
+        try {
+            final ByteBuffer payloadBuffer = ByteBuffer.wrap(payload);
+            final long writeTime = payloadBuffer.getLong();
+            return new StoredComponent(componentModelCodec.readComponent(payloadBuffer), writeTime);
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    private ByteBuffer encodeRecord(final ComponentModel component, final long writeTime) throws IOException {
+        final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        try (DataOutputStream payload = new DataOutputStream(payloadBytes)) {
+            payload.writeLong(writeTime);
+            componentModelCodec.writeComponent(payload, component);
+        }
+        final byte[] payload = payloadBytes.toByteArray();
+        final CRC32 checksum = new CRC32();
+        checksum.update(payload);
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_LENGTH + payload.length);
+        record.putInt(payload.length).putInt((int) checksum.getValue()).put(payload).flip();
+        return record;
+    }
+
+    private static class StoredComponent {
+        private final ComponentModel component;
+        private final long writeTime;
+
+        private StoredComponent(final ComponentModel component, final long writeTime) {
+            this.component = component;
+            this.writeTime = writeTime;
+        }
+    }
+
+}
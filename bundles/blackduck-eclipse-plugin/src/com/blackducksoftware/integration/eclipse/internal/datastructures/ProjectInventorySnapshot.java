@@ -0,0 +1,126 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+
+/**
+ * Snapshot of the components found in each project. The file holds a magic number and format version, a CRC32 of the body,
+ * and a body of [project count] followed by [project name][component count][components] for each project.
+ */
+public class ProjectInventorySnapshot {
+    public static final int MAGIC_NUMBER = 0x42444950;
+    public static final int FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 12;
+
+    private final File snapshotFile;
+    private final ComponentModelCodec componentModelCodec;
+
+    public ProjectInventorySnapshot(final File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        this.componentModelCodec = new ComponentModelCodec();
+    }
+
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public Map<String, List<ComponentModel>> read() throws IOException {
+        final Map<String, List<ComponentModel>> projectComponents = new HashMap<>();
+        if (!snapshotFile.isFile()) {
+            return projectComponents;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile.toPath()));
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION) {
+            throw new IOException("Unknown snapshot format");
+        }
+        final int expectedChecksum = buffer.getInt();
+        final CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), buffer.position(), buffer.remaining());
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        try {
+            final int projectCount = buffer.getInt();
+            for (int i = 0; i < projectCount; i++) {
+                final String projectName = componentModelCodec.readString(buffer);
+                final int componentCount = buffer.getInt();
+                if (projectName == null || componentCount < 0) {
+                    throw new IOException("Malformed project entry");
+                }
+                final List<ComponentModel> components = new ArrayList<>(Math.min(componentCount, buffer.remaining()));
+                for (int j = 0; j < componentCount; j++) {
+                    components.add(componentModelCodec.readComponent(buffer));
+                }
+                projectComponents.put(projectName, components);
+            }
+        } catch (final BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot", e);
+        }
+        return projectComponents;
+    }
+
+    public void write(final Map<String, List<ComponentModel>> projectComponents) throws IOException {
+        final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        try (DataOutputStream body = new DataOutputStream(bodyBytes)) {
+            body.writeInt(projectComponents.size());
+            for (final Entry<String, List<ComponentModel>> entry : projectComponents.entrySet()) {
+                componentModelCodec.writeString(body, entry.getKey());
+                body.writeInt(entry.getValue().size());
+                for (final ComponentModel component : entry.getValue()) {
+                    componentModelCodec.writeComponent(body, component);
+                }
+            }
+        }
+        final byte[] body = bodyBytes.toByteArray();
+        final CRC32 checksum = new CRC32();
+        checksum.update(body);
+        final File parentDirectory = snapshotFile.getAbsoluteFile().getParentFile();
+        Files.createDirectories(parentDirectory.toPath());
+        final File temporaryFile = new File(parentDirectory, snapshotFile.getName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temporaryFile.toPath()))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt((int) checksum.getValue());
+            output.write(body);
+        }
+        Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+}
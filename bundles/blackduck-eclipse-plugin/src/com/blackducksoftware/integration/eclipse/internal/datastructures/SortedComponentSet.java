@@ -0,0 +1,138 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+/**
+ * The components of one project, kept ordered with the most vulnerable first. Inserts and removals are logarithmic, and
+ * readers get an immutable snapshot that is only rebuilt after the components have changed. Reading an unchanged
+ * snapshot takes no lock.
+ */
+public class SortedComponentSet {
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final TreeMap<SortKey, ComponentModel> sortedComponents = new TreeMap<>();
+    private final Map<ExternalId, SortKey> sortKeys = new HashMap<>();
+    private volatile long version = VERSIONS.incrementAndGet();
+    private volatile ComponentSnapshot snapshot = new ComponentSnapshot(version, new ComponentModel[0]);
+
+    // Adds the component, or replaces the one already in the set with the same id; returns false if it was already there
+    public synchronized boolean add(final ComponentModel component) {
+        final SortKey previousSortKey = sortKeys.get(component.getExternalId());
+        if (previousSortKey != null) {
+            if (sortedComponents.get(previousSortKey) == component) {
+                return false;
+            }
+            sortedComponents.remove(previousSortKey);
+        }
+        final SortKey sortKey = new SortKey(component);
+        sortKeys.put(component.getExternalId(), sortKey);
+        sortedComponents.put(sortKey, component);
+        version = VERSIONS.incrementAndGet();
+        return true;
+    }
+
+    // Only replaces a component that is already in the set
+    public synchronized boolean replace(final ComponentModel component) {
+        if (!sortKeys.containsKey(component.getExternalId())) {
+            return false;
+        }
+        return add(component);
+    }
+
+    public synchronized boolean remove(final ExternalId externalId) {
+        final SortKey sortKey = sortKeys.remove(externalId);
+        if (sortKey == null) {
+            return false;
+        }
+        sortedComponents.remove(sortKey);
+        version = VERSIONS.incrementAndGet();
+        return true;
+    }
+
+    public synchronized int size() {
+        return sortKeys.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public ComponentSnapshot snapshot() {
+        final ComponentSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot.getVersion() == version) {
+            return currentSnapshot;
+        }
+        synchronized (this) {
+            if (snapshot.getVersion() != version) {
+                snapshot = new ComponentSnapshot(version, sortedComponents.values().toArray(new ComponentModel[sortKeys.size()]));
+            }
+            return snapshot;
+        }
+    }
+
+    private static class SortKey implements Comparable<SortKey> {
+        private final ComponentModel component;
+        private final boolean componentIsKnown;
+        private final String nameAndVersion;
+        private final String externalId;
+
+        public SortKey(final ComponentModel component) {
+            final ExternalId componentExternalId = component.getExternalId();
+            this.component = component;
+            this.componentIsKnown = component.getComponentIsKnown();
+            this.nameAndVersion = componentExternalId.name + componentExternalId.version;
+            // Tells apart components that only differ in group or forge
+            this.externalId = componentExternalId.forge + ":" + componentExternalId.createExternalId();
+        }
+
+        @Override
+        public int compareTo(final SortKey other) {
+            final int severityCount = Math.min(component.getSeverityCount(), other.component.getSeverityCount());
+            for (int i = 0; i < severityCount; i++) {
+                final int compareVal = Integer.compare(other.component.getVulnerabilityCount(i), component.getVulnerabilityCount(i));
+                if (compareVal != 0) {
+                    return compareVal;
+                }
+            }
+            final int knownCompareVal = Boolean.compare(componentIsKnown, other.componentIsKnown);
+            if (knownCompareVal != 0) {
+                return knownCompareVal;
+            }
+            final int nameCompareVal = nameAndVersion.compareTo(other.nameAndVersion);
+            if (nameCompareVal != 0) {
+                return nameCompareVal;
+            }
+            return externalId.compareTo(other.externalId);
+        }
+    }
+
+}
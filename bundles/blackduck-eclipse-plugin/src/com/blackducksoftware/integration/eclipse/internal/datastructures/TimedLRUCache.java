@@ -23,78 +23,264 @@
  */
 package com.blackducksoftware.integration.eclipse.internal.datastructures;
 
-import java.time.Instant;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
+/**
+ * Keys are spread over independently locked segments. Each segment links its entries in access order (for LRU eviction) and in
+ * write time order (for expiry), so gets and puts run in constant amortized time. Since every entry shares the same timeout,
+ * changing it keeps the write order valid.
+ */
 public class TimedLRUCache<T, S> {
-    private final ConcurrentMap<T, S> cache;
-    private final ConcurrentMap<T, Instant> expirationCache;
-    private final int cacheTimeout;
+    private static final int MAX_SEGMENT_COUNT = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final List<Segment> segments;
+    private final int segmentMask;
+    private volatile int cacheTimeout;
     private final int cacheCapacity;
-    private Optional<T> oldestKey;
+    private final CacheStatistics cacheStatistics;
+    private final LongSupplier clock;
 
     public TimedLRUCache(final int cacheCapacity, final int cacheTimeout) {
+        this(cacheCapacity, cacheTimeout, new CacheStatistics());
+    }
+
+    public TimedLRUCache(final int cacheCapacity, final int cacheTimeout, final CacheStatistics cacheStatistics) {
+        this(cacheCapacity, cacheTimeout, cacheStatistics, System::currentTimeMillis);
+    }
+
+    public TimedLRUCache(final int cacheCapacity, final int cacheTimeout, final CacheStatistics cacheStatistics, final LongSupplier clock) {
+        if (cacheCapacity < 1) {
+            throw new IllegalArgumentException("The cache capacity must be greater than 0.");
+        }
         this.cacheCapacity = cacheCapacity;
         this.cacheTimeout = cacheTimeout;
-        oldestKey = Optional.empty();
-        cache = new ConcurrentHashMap<>();
-        expirationCache = new ConcurrentHashMap<>();
+        this.cacheStatistics = cacheStatistics;
+        this.clock = clock;
+        final int segmentCount = Math.min(MAX_SEGMENT_COUNT, Integer.highestOneBit(Math.max(1, cacheCapacity / MIN_SEGMENT_CAPACITY)));
+        this.segmentMask = segmentCount - 1;
+        this.segments = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            final int segmentCapacity = cacheCapacity / segmentCount + (i < cacheCapacity % segmentCount ? 1 : 0);
+            segments.add(new Segment(segmentCapacity));
+        }
     }
 
     public S get(final T key) {
-        removeStaleKeys();
-        return cache.get(key);
+        return segmentFor(key).get(key, clock.getAsLong());
     }
 
     public void put(final T key, final S value) {
-        removeStaleKeys();
+        segmentFor(key).put(key, value, clock.getAsLong(), clock.getAsLong());
+    }
 
-        if (cache.size() == cacheCapacity && oldestKey.isPresent()) {
-            cache.remove(oldestKey.get());
-            oldestKey = Optional.empty();
-        }
+    public void put(final T key, final S value, final long writeTime) {
+        segmentFor(key).put(key, value, writeTime, clock.getAsLong());
+    }
 
-        cache.put(key, value);
-        expirationCache.put(key, Instant.now().plusMillis(cacheTimeout));
+    public S remove(final T key) {
+        return segmentFor(key).remove(key);
+    }
 
-        if (!oldestKey.isPresent()) {
-            oldestKey = getOldestKey();
+    public void clear() {
+        for (final Segment segment : segments) {
+            segment.clear();
         }
     }
 
-    public Optional<T> getOldestKey() {
-        return cache.keySet().stream().reduce((key1, key2) -> getOlderKey(key1, key2));
+    public int size() {
+        final long now = clock.getAsLong();
+        int size = 0;
+        for (final Segment segment : segments) {
+            size += segment.size(now);
+        }
+        return size;
     }
 
-    public T getOlderKey(final T key1, final T key2) {
-        final Instant key1Expiration = expirationCache.get(key1);
-        final Instant key2Expiration = expirationCache.get(key2);
+    public int getCapacity() {
+        return cacheCapacity;
+    }
 
-        if (key1Expiration.isBefore(key2Expiration)) {
-            return key1;
-        }
-        return key2;
+    public int getTimeout() {
+        return cacheTimeout;
     }
 
-    public boolean isExpired(final T key) {
-        return expirationCache.get(key).isBefore(Instant.now());
+    public void setTimeout(final int cacheTimeout) {
+        this.cacheTimeout = cacheTimeout;
     }
 
-    private void removeStaleKeys() {
-        if (oldestKey.isPresent() && isExpired(oldestKey.get())) {
-            oldestKey = Optional.empty();
-            cache.keySet().stream()
-                    .filter(key -> isExpired(key))
-                    .forEach(key -> removeStaleKey(key));
-            oldestKey = getOldestKey();
+    public CacheStatistics getStatistics() {
+        return cacheStatistics;
+    }
+
+    private Segment segmentFor(final T key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments.get(hash & segmentMask);
+    }
+
+    private class Node {
+        private final T key;
+        private S value;
+        private long writeTime;
+        private Node accessPrevious;
+        private Node accessNext;
+        private Node writePrevious;
+        private Node writeNext;
+
+        private Node(final T key) {
+            this.key = key;
+            this.accessPrevious = this;
+            this.accessNext = this;
+            this.writePrevious = this;
+            this.writeNext = this;
         }
     }
 
-    private void removeStaleKey(final T key) {
-        cache.remove(key);
-        expirationCache.remove(key);
+    private class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<T, Node> entries = new HashMap<>();
+        // Sentinels of the circular access-order and write-order lists; the node after a sentinel is the oldest.
+        private final Node accessOrder = new Node(null);
+        private final Node writeOrder = new Node(null);
+        private final int capacity;
+
+        private Segment(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        private S get(final T key, final long now) {
+            lock.lock();
+            try {
+                expireEntries(now);
+                final Node node = entries.get(key);
+                if (node == null) {
+                    return null;
+                }
+                unlinkAccess(node);
+                linkAccessLast(node);
+                return node.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(final T key, final S value, final long writeTime, final long now) {
+            lock.lock();
+            try {
+                expireEntries(now);
+                if (writeTime + cacheTimeout <= now) {
+                    return;
+                }
+                Node node = entries.get(key);
+                if (node == null) {
+                    if (entries.size() >= capacity) {
+                        evict(accessOrder.accessNext);
+                    }
+                    node = new Node(key);
+                    entries.put(key, node);
+                } else {
+                    unlinkAccess(node);
+                    unlinkWrite(node);
+                }
+                node.value = value;
+                node.writeTime = writeTime;
+                linkAccessLast(node);
+                linkWriteInWriteTimeOrder(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private S remove(final T key) {
+            lock.lock();
+            try {
+                final Node node = entries.remove(key);
+                if (node == null) {
+                    return null;
+                }
+                unlinkAccess(node);
+                unlinkWrite(node);
+                return node.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                entries.clear();
+                accessOrder.accessNext = accessOrder;
+                accessOrder.accessPrevious = accessOrder;
+                writeOrder.writeNext = writeOrder;
+                writeOrder.writePrevious = writeOrder;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size(final long now) {
+            lock.lock();
+            try {
+                expireEntries(now);
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Every entry lives for the same timeout and the write list is kept sorted, so only the head needs checking.
+        private void expireEntries(final long now) {
+            final long oldestLiveWriteTime = now - cacheTimeout;
+            Node oldest = writeOrder.writeNext;
+            while (oldest != writeOrder && oldest.writeTime <= oldestLiveWriteTime) {
+                final Node next = oldest.writeNext;
+                evict(oldest);
+                oldest = next;
+            }
+        }
+
+        private void evict(final Node node) {
+            entries.remove(node.key);
+            unlinkAccess(node);
+            unlinkWrite(node);
+            cacheStatistics.recordEviction();
+        }
+
+        private void linkAccessLast(final Node node) {
+            node.accessPrevious = accessOrder.accessPrevious;
+            node.accessNext = accessOrder;
+            accessOrder.accessPrevious.accessNext = node;
+            accessOrder.accessPrevious = node;
+        }
+
+        private void unlinkAccess(final Node node) {
+            node.accessPrevious.accessNext = node.accessNext;
+            node.accessNext.accessPrevious = node.accessPrevious;
+        }
+
+        // Entries written with the current time go straight to the tail; only back-dated ones walk back to their place.
+        private void linkWriteInWriteTimeOrder(final Node node) {
+            Node previous = writeOrder.writePrevious;
+            while (previous != writeOrder && previous.writeTime > node.writeTime) {
+                previous = previous.writePrevious;
+            }
+            node.writePrevious = previous;
+            node.writeNext = previous.writeNext;
+            previous.writeNext.writePrevious = node;
+            previous.writeNext = node;
+        }
+
+        private void unlinkWrite(final Node node) {
+            node.writePrevious.writeNext = node.writeNext;
+            node.writeNext.writePrevious = node.writePrevious;
+        }
     }
 
 }
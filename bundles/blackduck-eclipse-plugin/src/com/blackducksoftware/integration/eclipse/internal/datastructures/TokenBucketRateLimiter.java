@@ -0,0 +1,83 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucketRateLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private double permitsPerSecond;
+    private double availablePermits;
+    private long lastRefillTime;
+
+    public TokenBucketRateLimiter(final double permitsPerSecond) {
+        validateRate(permitsPerSecond);
+        this.permitsPerSecond = permitsPerSecond;
+        this.availablePermits = permitsPerSecond;
+        this.lastRefillTime = System.nanoTime();
+    }
+
+    public synchronized void setRate(final double permitsPerSecond) {
+        validateRate(permitsPerSecond);
+        refill(System.nanoTime());
+        this.permitsPerSecond = permitsPerSecond;
+        this.availablePermits = Math.min(availablePermits, permitsPerSecond);
+    }
+
+    public synchronized double getRate() {
+        return permitsPerSecond;
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitTime;
+        while ((waitTime = tryAcquire()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitTime);
+        }
+    }
+
+    // Returns zero if a permit was taken, otherwise how long to wait before one is available
+    private synchronized long tryAcquire() {
+        refill(System.nanoTime());
+        if (availablePermits >= 1) {
+            availablePermits--;
+            return 0;
+        }
+        return Math.max(1, (long) ((1 - availablePermits) * NANOS_PER_SECOND / permitsPerSecond));
+    }
+
+    private static void validateRate(final double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("The rate must be positive");
+        }
+    }
+
+    private void refill(final long now) {
+        // The bucket holds at most one second's worth of permits, which bounds the burst size
+        final double refilledPermits = (now - lastRefillTime) * permitsPerSecond / NANOS_PER_SECOND;
+        availablePermits = Math.min(permitsPerSecond, availablePermits + refilledPermits);
+        lastRefillTime = now;
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Hands out one canonical instance per value. The pool only holds weak references, so a value is dropped once nothing else
+ * uses it. Equality is pluggable so that arrays can be interned by content.
+ */
+public class WeakInterner<T> {
+    private final Map<Object, InternedReference<T>> pool = new HashMap<>();
+    private final ReferenceQueue<T> clearedReferences = new ReferenceQueue<>();
+    private final ToIntFunction<T> hashFunction;
+    private final BiPredicate<T, T> equalityFunction;
+
+    public WeakInterner() {
+        this(Object::hashCode, Object::equals);
+    }
+
+    public WeakInterner(final ToIntFunction<T> hashFunction, final BiPredicate<T, T> equalityFunction) {
+        this.hashFunction = hashFunction;
+        this.equalityFunction = equalityFunction;
+    }
+
+    public synchronized T intern(final T value) {
+        if (value == null) {
+            return null;
+        }
+        removeClearedReferences();
+        final int hash = hashFunction.applyAsInt(value);
+        final InternedReference<T> internedReference = pool.get(new Probe(value, hash));
+        final T internedValue = internedReference == null ? null : internedReference.get();
+        if (internedValue != null) {
+            return internedValue;
+        }
+        final InternedReference<T> newReference = new InternedReference<>(value, hash, clearedReferences);
+        pool.put(newReference, newReference);
+        return value;
+    }
+
+    public synchronized int size() {
+        removeClearedReferences();
+        return pool.size();
+    }
+
+    private void removeClearedReferences() {
+        Reference<? extends T> clearedReference;
+        while ((clearedReference = clearedReferences.poll()) != null) {
+            pool.remove(clearedReference);
+        }
+    }
+
+    // Stored entries only ever equal themselves, so cleared ones can still be removed; lookups go through Probe
+    private static class InternedReference<T> extends WeakReference<T> {
+        private final int hash;
+
+        private InternedReference(final T value, final int hash, final ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other;
+        }
+    }
+
+    private class Probe {
+        private final T value;
+        private final int hash;
+
+        private Probe(final T value, final int hash) {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean equals(final Object other) {
+            if (!(other instanceof InternedReference)) {
+                return false;
+            }
+            final InternedReference<T> internedReference = (InternedReference<T>) other;
+            final T internedValue = internedReference.get();
+            return internedReference.hash == hash && internedValue != null && equalityFunction.test(value, internedValue);
+        }
+    }
+
+}
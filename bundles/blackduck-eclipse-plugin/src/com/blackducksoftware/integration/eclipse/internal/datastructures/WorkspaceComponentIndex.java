@@ -0,0 +1,79 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.datastructures;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+/**
+ * One shared model per distinct component in the workspace, together with the projects that use it. A component is dropped
+ * once no project uses it any more.
+ */
+public class WorkspaceComponentIndex {
+    private final Map<ExternalId, ComponentModel> components = new HashMap<>();
+    private final Map<ExternalId, Set<String>> projectsByComponent = new HashMap<>();
+
+    // Returns the shared model for the component. The given one replaces it unless it is stale and the shared one is not.
+    public synchronized ComponentModel addUsage(final String projectName, final ComponentModel component) {
+        final ExternalId externalId = component.getExternalId();
+        final ComponentModel sharedComponent = components.merge(externalId, component, (current, incoming) -> incoming.getComponentIsStale() && !current.getComponentIsStale() ? current : incoming);
+        projectsByComponent.computeIfAbsent(externalId, key -> new HashSet<>()).add(projectName);
+        return sharedComponent;
+    }
+
+    public synchronized void removeUsage(final String projectName, final ExternalId externalId) {
+        final Set<String> projectNames = projectsByComponent.get(externalId);
+        if (projectNames != null && projectNames.remove(projectName) && projectNames.isEmpty()) {
+            projectsByComponent.remove(externalId);
+            components.remove(externalId);
+        }
+    }
+
+    // Returns the projects whose models need to be swapped for the new one
+    public synchronized Set<String> replaceComponent(final ComponentModel component) {
+        final ExternalId externalId = component.getExternalId();
+        final Set<String> projectNames = projectsByComponent.get(externalId);
+        if (projectNames == null) {
+            return Collections.emptySet();
+        }
+        components.put(externalId, component);
+        return new HashSet<>(projectNames);
+    }
+
+    public synchronized Set<String> getProjectsUsing(final ExternalId externalId) {
+        final Set<String> projectNames = projectsByComponent.get(externalId);
+        return projectNames == null ? Collections.emptySet() : new HashSet<>(projectNames);
+    }
+
+    public synchronized int size() {
+        return components.size();
+    }
+
+}
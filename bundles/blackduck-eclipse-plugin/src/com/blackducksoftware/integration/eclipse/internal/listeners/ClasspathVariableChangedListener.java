@@ -0,0 +1,48 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.listeners;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+
+import com.blackducksoftware.integration.eclipse.services.ComponentInformationService;
+
+public class ClasspathVariableChangedListener implements IPreferenceChangeListener {
+    // JDT keeps each classpath variable in its instance preferences under this prefix
+    public static final String CLASSPATH_VARIABLE_PREFERENCE_PREFIX = "org.eclipse.jdt.core.classpathVariable.";
+
+    private final ComponentInformationService componentInformationService;
+
+    public ClasspathVariableChangedListener(final ComponentInformationService componentInformationService) {
+        this.componentInformationService = componentInformationService;
+    }
+
+    @Override
+    public void preferenceChange(final PreferenceChangeEvent event) {
+        if ((CLASSPATH_VARIABLE_PREFERENCE_PREFIX + ComponentInformationService.M2_REPO).equals(event.getKey())) {
+            componentInformationService.localMavenRepoChanged();
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.internal.listeners;
+
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+
+import com.blackducksoftware.integration.eclipse.internal.HubPreferencesChangedJob;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubComponentLookupService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionManagerService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
+import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
+
+public class HubPreferencesChangedListener implements IPropertyChangeListener {
+    private final HubPreferencesChangedJob hubPreferencesChangedJob;
+
+    public HubPreferencesChangedListener(final HubConnectionManagerService hubConnectionManagerService, final HubConnectionMonitorService hubConnectionMonitorService, final HubComponentLookupService hubComponentLookupService,
+            final ComponentInspectorService componentInspectorService) {
+        this.hubPreferencesChangedJob = new HubPreferencesChangedJob(hubConnectionManagerService, hubConnectionMonitorService, hubComponentLookupService, componentInspectorService);
+    }
+
+    public void shutDown() {
+        hubPreferencesChangedJob.discardPendingChanges();
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent event) {
+        hubPreferencesChangedJob.preferenceChanged(event.getProperty());
+    }
+
+}
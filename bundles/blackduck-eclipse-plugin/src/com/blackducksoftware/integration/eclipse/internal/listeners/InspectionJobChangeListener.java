@@ -55,7 +55,7 @@ public class InspectionJobChangeListener implements IJobChangeListener{
 
 	@Override
 	public void done(final IJobChangeEvent event) {
-		inspectionJobQueue.currentInspectionDone();
+		inspectionJobQueue.inspectionDone((InspectionJob) event.getJob());
 		componentInspectorViewService.refreshProjectStatus(((InspectionJob) event.getJob()).getProjectName());
 	}
 
@@ -36,6 +36,7 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.eclipse.internal.ProjectComponentsChangedJob;
 import com.blackducksoftware.integration.eclipse.services.ComponentInformationService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
@@ -43,14 +44,18 @@ import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
 public class ProjectComponentsChangedListener implements IElementChangedListener {
     private final Logger log = LoggerFactory.getLogger(ProjectComponentsChangedListener.class);
 
-    private final ComponentInspectorService inspectorService;
+    private final ProjectComponentsChangedJob projectComponentsChangedJob;
     private final ComponentInformationService componentInformationService;
 
     public ProjectComponentsChangedListener(final ComponentInspectorService inspectorService, final ComponentInformationService componentInformationService) {
-        this.inspectorService = inspectorService;
+        this.projectComponentsChangedJob = new ProjectComponentsChangedJob(inspectorService);
         this.componentInformationService = componentInformationService;
     }
 
+    public void shutDown() {
+        projectComponentsChangedJob.discardPendingChanges();
+    }
+
     @Override
     public void elementChanged(final ElementChangedEvent event) {
         this.searchForChangedComponents(event.getDelta());
@@ -82,10 +87,10 @@ public class ProjectComponentsChangedListener implements IElementChangedListener
                 final Optional<ExternalId> optionalComponentExternalId = componentInformationService.constructMavenExternalIdFromUrl(componentUrl);
                 if (optionalComponentExternalId.isPresent()) {
                     if ((delta.getFlags() & IJavaElementDelta.F_REMOVED_FROM_CLASSPATH) != 0 || delta.getKind() == IJavaElementDelta.REMOVED) {
-                        inspectorService.removeComponentFromProject(projectName, optionalComponentExternalId.get());
+                        projectComponentsChangedJob.componentRemoved(projectName, optionalComponentExternalId.get());
                     }
                     if ((delta.getFlags() & IJavaElementDelta.F_ADDED_TO_CLASSPATH) != 0 || delta.getKind() == IJavaElementDelta.ADDED) {
-                        inspectorService.addComponentToProject(projectName, optionalComponentExternalId.get());
+                        projectComponentsChangedJob.componentAdded(projectName, optionalComponentExternalId.get());
                     }
                 }
             } catch (final MalformedURLException | CoreException e) {
@@ -29,7 +29,16 @@ import java.util.Optional;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalIdFactory;
 
+/**
+ * Paths are scanned backwards segment by segment with lastIndexOf, so only the group, artifact and version strings are
+ * allocated.
+ */
 public class FilePathExternalIdExtractor {
+    private static final char SEPARATOR = '/';
+    private static final String GRADLE_DIRECTORY_SEGMENT = "/.gradle/";
+    private static final String LIB_SEGMENT = "lib";
+    private static final String PLUGINS_SEGMENT = "plugins";
+
     private final ExternalIdFactory externalIdFactory;
 
     public FilePathExternalIdExtractor() {
@@ -37,40 +46,81 @@ public class FilePathExternalIdExtractor {
     }
 
     public Optional<ExternalId> getExternalIdFromLocalMavenUrl(final URL filePath, final URL localMavenRepoPath) {
-        ExternalId constructedExternalId = null;
+        return getExternalIdFromLocalMavenPath(filePath.getFile(), localMavenRepoPath.getFile());
+    }
 
-        String stringPath = filePath.getFile();
-        stringPath = stringPath.replace(localMavenRepoPath.getFile(), "");
-        final String[] pathArray = stringPath.split("/");
-        final StringBuilder groupIdBuilder = new StringBuilder();
-        for (int i = 0; i < pathArray.length - 3; i++) {
-            groupIdBuilder.append(pathArray[i]);
-            if (i != pathArray.length - 4) {
-                groupIdBuilder.append(".");
-            }
+    public Optional<ExternalId> getExternalIdFromLocalGradleUrl(final URL filePath) {
+        if (filePath == null) {
+            return Optional.empty();
         }
-        final String groupId = groupIdBuilder.toString();
-        final String artifactId = pathArray[pathArray.length - 3];
-        final String version = pathArray[pathArray.length - 2];
-        constructedExternalId = externalIdFactory.createMavenExternalId(groupId, artifactId, version);
+        return getExternalIdFromLocalGradlePath(filePath.getFile());
+    }
 
-        return Optional.ofNullable(constructedExternalId);
+    public boolean isInLocalMavenRepo(final String filePath, final String localMavenRepoPath) {
+        final int repoPathLength = withoutTrailingSeparator(localMavenRepoPath);
+        return filePath.regionMatches(0, localMavenRepoPath, 0, repoPathLength) && (filePath.length() == repoPathLength || filePath.charAt(repoPathLength) == SEPARATOR);
+    }
 
+    // Maven repository layout: <repo>/group/path/artifact/version/file.jar
+    public Optional<ExternalId> getExternalIdFromLocalMavenPath(final String filePath, final String localMavenRepoPath) {
+        final int relativePathStart = isInLocalMavenRepo(filePath, localMavenRepoPath) ? withoutTrailingSeparator(localMavenRepoPath) + 1 : 0;
+        final int fileStart = filePath.lastIndexOf(SEPARATOR) + 1;
+        final int versionStart = segmentStart(filePath, fileStart - 1, relativePathStart);
+        final int artifactStart = segmentStart(filePath, versionStart - 1, relativePathStart);
+        if (fileStart <= relativePathStart || versionStart <= relativePathStart) {
+            return Optional.empty();
+        }
+        final String groupId = artifactStart > relativePathStart ? filePath.substring(relativePathStart, artifactStart - 1).replace(SEPARATOR, '.') : "";
+        final String artifactId = filePath.substring(artifactStart, versionStart - 1);
+        final String version = filePath.substring(versionStart, fileStart - 1);
+        return Optional.ofNullable(externalIdFactory.createMavenExternalId(groupId, artifactId, version));
     }
 
-    public Optional<ExternalId> getExternalIdFromLocalGradleUrl(final URL filePath) {
-        ExternalId constructedExternalId = null;
+    public boolean isInGradleCache(final String filePath) {
+        final int fileStart = filePath.lastIndexOf(SEPARATOR) + 1;
+        final int parentStart = segmentStart(filePath, fileStart - 1, 0);
+        final int grandparentStart = segmentStart(filePath, parentStart - 1, 0);
+        if (fileStart == 0 || parentStart == 0) {
+            return false;
+        }
+        if (segmentEquals(filePath, grandparentStart, parentStart - 1, LIB_SEGMENT)
+                || segmentEquals(filePath, parentStart, fileStart - 1, PLUGINS_SEGMENT)
+                || segmentEquals(filePath, parentStart, fileStart - 1, LIB_SEGMENT)) {
+            return false;
+        }
+        return filePath.contains(GRADLE_DIRECTORY_SEGMENT) || filePath.startsWith(GRADLE_DIRECTORY_SEGMENT.substring(1));
+    }
 
-        if (filePath != null) {
-            final String[] pathArray = filePath.getFile().split("/");
-            if (pathArray.length > 4) {
-                final String groupId = pathArray[pathArray.length - 5];
-                final String artifactId = pathArray[pathArray.length - 4];
-                final String version = pathArray[pathArray.length - 3];
-                constructedExternalId = externalIdFactory.createMavenExternalId(groupId, artifactId, version);
-            }
+    // Gradle cache layout: files-2.1/group/artifact/version/hash/file.jar
+    public Optional<ExternalId> getExternalIdFromLocalGradlePath(final String filePath) {
+        final int fileStart = filePath.lastIndexOf(SEPARATOR) + 1;
+        final int hashStart = segmentStart(filePath, fileStart - 1, 0);
+        final int versionStart = segmentStart(filePath, hashStart - 1, 0);
+        final int artifactStart = segmentStart(filePath, versionStart - 1, 0);
+        final int groupStart = segmentStart(filePath, artifactStart - 1, 0);
+        if (fileStart == 0 || hashStart == 0 || versionStart == 0 || artifactStart == 0) {
+            return Optional.empty();
         }
+        final String groupId = filePath.substring(groupStart, artifactStart - 1);
+        final String artifactId = filePath.substring(artifactStart, versionStart - 1);
+        final String version = filePath.substring(versionStart, hashStart - 1);
+        return Optional.ofNullable(externalIdFactory.createMavenExternalId(groupId, artifactId, version));
+    }
 
-        return Optional.ofNullable(constructedExternalId);
+    // Start of the segment that ends at segmentEnd (the index of the separator after it), never going before lowerBound
+    private int segmentStart(final String path, final int segmentEnd, final int lowerBound) {
+        if (segmentEnd <= lowerBound) {
+            return lowerBound;
+        }
+        return Math.max(lowerBound, path.lastIndexOf(SEPARATOR, segmentEnd - 1) + 1);
     }
+
+    private boolean segmentEquals(final String path, final int segmentStart, final int segmentEnd, final String segment) {
+        return segmentEnd - segmentStart == segment.length() && path.regionMatches(segmentStart, segment, 0, segment.length());
+    }
+
+    private int withoutTrailingSeparator(final String path) {
+        return path.endsWith(String.valueOf(SEPARATOR)) ? path.length() - 1 : path.length();
+    }
+
 }
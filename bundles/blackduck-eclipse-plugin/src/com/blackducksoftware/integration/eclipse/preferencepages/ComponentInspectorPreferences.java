@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.PreferencePage;
 import org.eclipse.jface.preference.RadioGroupFieldEditor;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -56,6 +57,7 @@ public class ComponentInspectorPreferences extends PreferencePage implements IWo
     public static final String SUPPORTED_PROJECT_ADDED_ACTION_LABEL = "When supported projects are added to workspace...";
     public static final String INSPECT_AUTOMATICALLY_LABEL = "Inspect them automatically";
     public static final String DO_NOT_INSPECT_AUTOMATICALLY_LABEL = "Do not inspect them automatically";
+    public static final String MAX_CONCURRENT_INSPECTIONS_LABEL = "Projects Inspected at Once";
     public static final String MARKED_PROJECTS_LABEL = "Projects Marked for Inspection";
     public static final String CHECK_ALL_BUTTON_LABEL = "Check All";
     public static final String UNCHECK_ALL_BUTTON_LABEL = "Uncheck All";
@@ -67,6 +69,7 @@ public class ComponentInspectorPreferences extends PreferencePage implements IWo
 
     private List<BooleanFieldEditor> projectCheckboxes;
     private RadioGroupFieldEditor inspectByDefault;
+    private IntegerFieldEditor maxConcurrentInspections;
     private Composite defaultsComposite;
     private Composite inspectedProjectsComposite;
     private ComponentInspectorPreferencesService inspectorPreferencesService;
@@ -111,6 +114,24 @@ public class ComponentInspectorPreferences extends PreferencePage implements IWo
             }
         });
         inspectByDefault.load();
+        final Composite concurrencyComposite = new Composite(defaultsComposite, SWT.LEFT);
+        concurrencyComposite.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+        maxConcurrentInspections = new IntegerFieldEditor(ComponentInspectorPreferencesService.MAX_CONCURRENT_INSPECTIONS, MAX_CONCURRENT_INSPECTIONS_LABEL, concurrencyComposite);
+        maxConcurrentInspections.setValidRange(1, Integer.MAX_VALUE);
+        maxConcurrentInspections.setPage(this);
+        maxConcurrentInspections.setPreferenceStore(this.getPreferenceStore());
+        maxConcurrentInspections.load();
+        maxConcurrentInspections.setPropertyChangeListener(new IPropertyChangeListener() {
+            @Override
+            public void propertyChange(final PropertyChangeEvent event) {
+                if (Integer.toString(inspectorPreferencesService.getMaxConcurrentInspections()).equals(maxConcurrentInspections.getStringValue())) {
+                    hasChanges.remove(maxConcurrentInspections.getPreferenceName());
+                } else {
+                    hasChanges.add(maxConcurrentInspections.getPreferenceName());
+                }
+                updateApplyButtonWithChanges();
+            }
+        });
         final Label spacer = new Label(defaultsComposite, SWT.HORIZONTAL);
         spacer.setVisible(false); // Not visible, but takes up a grid slot
         final Label activeProjectsLabel = new Label(defaultsComposite, SWT.HORIZONTAL);
@@ -248,6 +269,9 @@ public class ComponentInspectorPreferences extends PreferencePage implements IWo
         this.updateApplyButtonWithChanges();
         inspectByDefault.store();
         inspectorPreferencesService.saveInspectByDefault(Boolean.toString(this.getPreferenceStore().getBoolean(inspectByDefault.getPreferenceName())));
+        if (maxConcurrentInspections.isValid()) {
+            inspectorPreferencesService.saveMaxConcurrentInspections(maxConcurrentInspections.getStringValue());
+        }
         projectCheckboxes.forEach(projectCheckBox -> inspectorPreferencesService.setProjectMarkedForInspection(projectCheckBox.getPreferenceName(), Boolean.toString(projectCheckBox.getBooleanValue())));
     }
 
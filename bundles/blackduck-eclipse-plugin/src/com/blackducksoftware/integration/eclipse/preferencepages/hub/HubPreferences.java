@@ -54,7 +54,6 @@ import com.blackducksoftware.integration.eclipse.BlackDuckEclipseActivator;
 import com.blackducksoftware.integration.eclipse.services.BlackDuckEclipseServicesFactory;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionService;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
-import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorViewService;
 import com.blackducksoftware.integration.exception.IntegrationException;
 import com.blackducksoftware.integration.hub.rest.CredentialsRestConnection;
@@ -71,6 +70,10 @@ public class HubPreferences extends PreferencePage implements IWorkbenchPreferen
     public static final String HUB_URL_LABEL = "Instance URL";
     public static final String HUB_TIMEOUT_LABEL = "Timeout in Seconds";
     public static final String HUB_ALWAYS_TRUST_LABEL = "Always Trust Server Certificate";
+    public static final String HUB_MAX_CONCURRENT_REQUESTS_LABEL = "Maximum Concurrent Requests";
+    public static final String HUB_REQUESTS_PER_SECOND_LABEL = "Maximum Requests per Second";
+    public static final String HUB_CACHE_HARD_EXPIRY_HOURS_LABEL = "Hours to Keep Unrefreshed Components";
+    public static final String HUB_IGNORED_GROUP_IDS_LABEL = "Group IDs Not to Look Up (e.g. com.ourcompany.*)";
 
     public static final String PROXY_USERNAME_LABEL = "Proxy Username";
     public static final String PROXY_PASSWORD_LABEL = "Proxy Password";
@@ -86,6 +89,10 @@ public class HubPreferences extends PreferencePage implements IWorkbenchPreferen
     private StringFieldEditor hubUrlField;
     private StringFieldEditor hubTimeoutField;
     private BooleanFieldEditor hubAlwaysTrustField;
+    private StringFieldEditor hubMaxConcurrentRequestsField;
+    private StringFieldEditor hubRequestsPerSecondField;
+    private StringFieldEditor hubCacheHardExpiryHoursField;
+    private StringFieldEditor hubIgnoredGroupIdsField;
     private StringFieldEditor proxyHostField;
     private StringFieldEditor proxyPortField;
     private StringFieldEditor proxyUsernameField;
@@ -129,6 +136,10 @@ public class HubPreferences extends PreferencePage implements IWorkbenchPreferen
         proxyPasswordField = createPasswordField(HubPreferencesService.PROXY_PASSWORD, PROXY_PASSWORD_LABEL, authComposite);
         proxyHostField = createStringField(HubPreferencesService.PROXY_HOST, PROXY_HOST_LABEL, authComposite, false);
         proxyPortField = createStringField(HubPreferencesService.PROXY_PORT, PROXY_PORT_LABEL, authComposite, true);
+        hubMaxConcurrentRequestsField = createStringField(HubPreferencesService.HUB_MAX_CONCURRENT_REQUESTS, HUB_MAX_CONCURRENT_REQUESTS_LABEL, authComposite, true);
+        hubRequestsPerSecondField = createStringField(HubPreferencesService.HUB_REQUESTS_PER_SECOND, HUB_REQUESTS_PER_SECOND_LABEL, authComposite, true);
+        hubCacheHardExpiryHoursField = createStringField(HubPreferencesService.HUB_CACHE_HARD_EXPIRY_HOURS, HUB_CACHE_HARD_EXPIRY_HOURS_LABEL, authComposite, true);
+        hubIgnoredGroupIdsField = createStringField(HubPreferencesService.HUB_IGNORED_GROUP_IDS, HUB_IGNORED_GROUP_IDS_LABEL, authComposite, false);
         final Composite connectionMessageComposite = new Composite(parent, SWT.LEFT);
         final GridLayout connectionMessageCompositeLayout = new GridLayout();
         connectionMessageCompositeLayout.numColumns = 1;
@@ -316,10 +327,12 @@ public class HubPreferences extends PreferencePage implements IWorkbenchPreferen
         hubPreferencesService.saveHubProxyPort(proxyPortField.getStringValue());
         hubPreferencesService.saveHubProxyUsername(proxyUsernameField.getStringValue());
         hubPreferencesService.saveHubProxyPassword(proxyPasswordField.getText());
+        hubPreferencesService.saveHubMaxConcurrentRequests(hubMaxConcurrentRequestsField.getStringValue());
+        hubPreferencesService.saveHubRequestsPerSecond(hubRequestsPerSecondField.getStringValue());
+        hubPreferencesService.saveHubCacheHardExpiryHours(hubCacheHardExpiryHoursField.getStringValue());
+        hubPreferencesService.saveHubIgnoredGroupIds(hubIgnoredGroupIdsField.getStringValue());
         final BlackDuckEclipseServicesFactory blackDuckEclipseServicesFactory = BlackDuckEclipseServicesFactory.getInstance();
         final ComponentInspectorViewService inspectorViewService = blackDuckEclipseServicesFactory.getComponentInspectorViewService();
-        final ComponentInspectorService componentInspectorService = blackDuckEclipseServicesFactory.getComponentInspectorService();
-        componentInspectorService.inspectAllProjects();
         inspectorViewService.resetDisplay();
     }
 
@@ -25,6 +25,8 @@ package com.blackducksoftware.integration.eclipse.services;
 
 import com.blackducksoftware.integration.eclipse.BlackDuckEclipseActivator;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubComponentLookupService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionManagerService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionService;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorCacheService;
@@ -44,6 +46,8 @@ public class BlackDuckEclipseServicesFactory {
     private final ComponentInspectorService componentInspectorService;
     private final ComponentInspectorCacheService componentInspectorCacheService;
     private final HubPreferencesService hubPreferencesService;
+    private final HubConnectionManagerService hubConnectionManagerService;
+    private final HubConnectionMonitorService hubConnectionMonitorService;
 
     protected BlackDuckEclipseServicesFactory() {
         instance = this;
@@ -56,9 +60,11 @@ public class BlackDuckEclipseServicesFactory {
         this.hubPreferencesService = new HubPreferencesService(hubConnectionService, blackDuckPreferencesService);
         this.componentInspectorPreferencesService = new ComponentInspectorPreferencesService(blackDuckPreferencesService);
         this.componentInspectorViewService = new ComponentInspectorViewService(hubConnectionService, hubPreferencesService);
-        this.hubComponentLookupService = new HubComponentLookupService(hubPreferencesService);
-        this.componentInspectorCacheService = new ComponentInspectorCacheService(componentInspectorViewService, hubComponentLookupService, hubPreferencesService);
-        this.componentInspectorService = new ComponentInspectorService(componentInspectorViewService, hubPreferencesService, componentInspectorPreferencesService, workspaceInformationService, componentInspectorCacheService);
+        this.hubConnectionManagerService = new HubConnectionManagerService(hubPreferencesService);
+        this.hubConnectionMonitorService = new HubConnectionMonitorService(hubConnectionManagerService);
+        this.hubComponentLookupService = new HubComponentLookupService(hubConnectionManagerService, hubConnectionMonitorService, hubPreferencesService);
+        this.componentInspectorCacheService = new ComponentInspectorCacheService(componentInspectorViewService, hubComponentLookupService, hubConnectionMonitorService);
+        this.componentInspectorService = new ComponentInspectorService(componentInspectorViewService, hubConnectionMonitorService, componentInspectorPreferencesService, workspaceInformationService, componentInspectorCacheService);
     }
 
     public static BlackDuckEclipseServicesFactory getInstance() {
@@ -105,6 +111,14 @@ public class BlackDuckEclipseServicesFactory {
         return hubPreferencesService;
     }
 
+    public HubConnectionManagerService getHubConnectionManagerService() {
+        return hubConnectionManagerService;
+    }
+
+    public HubConnectionMonitorService getHubConnectionMonitorService() {
+        return hubConnectionMonitorService;
+    }
+
     public ProjectInformationService getProjectInformationService() {
         return projectInformationService;
     }
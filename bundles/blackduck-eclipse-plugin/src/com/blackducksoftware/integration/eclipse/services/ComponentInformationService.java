@@ -23,77 +23,124 @@
  */
 package com.blackducksoftware.integration.eclipse.services;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.JavaCore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.eclipse.internal.ComponentInterners;
 import com.blackducksoftware.integration.eclipse.internal.utils.externalid.FilePathExternalIdExtractor;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
 
 public class ComponentInformationService {
+    private final Logger log = LoggerFactory.getLogger(ComponentInformationService.class);
+
     public static final String M2_REPO = "M2_REPO";
+    public static final String GRADLE_FILE_CACHE = ".gradle/caches/modules-2/files-2.1";
+    private static final int EXTERNAL_ID_CACHE_CAPACITY = 20000;
 
     private final FilePathExternalIdExtractor filePathExternalIdExtractor;
+    // Jar paths don't change meaning until M2_REPO does, so entries are only evicted by size
+    private final Map<String, Optional<ExternalId>> externalIdsByPath;
+    private final Object localMavenRepoLock = new Object();
+    private volatile boolean localMavenRepoPathResolved = false;
+    private Optional<String> localMavenRepoPath = Optional.empty();
 
     public ComponentInformationService() {
         this.filePathExternalIdExtractor = new FilePathExternalIdExtractor();
+        this.externalIdsByPath = Collections.synchronizedMap(new LinkedHashMap<String, Optional<ExternalId>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Entry<String, Optional<ExternalId>> eldest) {
+                return size() > EXTERNAL_ID_CACHE_CAPACITY;
+            }
+        });
+    }
+
+    public void localMavenRepoChanged() {
+        synchronized (localMavenRepoLock) {
+            localMavenRepoPathResolved = false;
+        }
+        externalIdsByPath.clear();
     }
 
     public boolean isMavenDependency(final URL filePath) {
-        URL m2Repo;
-        try {
-            m2Repo = JavaCore.getClasspathVariable(M2_REPO).toFile().toURI().toURL();
-        } catch (final MalformedURLException e) {
-            e.printStackTrace();
-            return false;
+        final Optional<String> m2RepoPath = getLocalMavenRepoPath();
+        return m2RepoPath.isPresent() && filePathExternalIdExtractor.isInLocalMavenRepo(filePath.getFile(), m2RepoPath.get());
+    }
+
+    public boolean isGradleDependency(final URL filePath) {
+        return filePathExternalIdExtractor.isInGradleCache(filePath.getFile());
+    }
+
+    public List<File> getLocalRepositoryDirectories() {
+        final List<File> repositoryDirectories = new ArrayList<>();
+        final IPath m2Repo = JavaCore.getClasspathVariable(M2_REPO);
+        if (m2Repo != null && m2Repo.toFile().isDirectory()) {
+            repositoryDirectories.add(m2Repo.toFile());
         }
-        final String[] m2RepoSegments = m2Repo.getFile().split("/");
-        final String[] filePathSegments = filePath.getFile().split("/");
-        if (filePathSegments.length < m2RepoSegments.length) {
-            return false;
+        final File gradleFileCache = new File(System.getProperty("user.home"), GRADLE_FILE_CACHE);
+        if (gradleFileCache.isDirectory()) {
+            repositoryDirectories.add(gradleFileCache);
         }
-        for (int i = 0; i < m2RepoSegments.length; i++) {
-            if (!filePathSegments[i].equals(m2RepoSegments[i])) {
-                return false;
-            }
+        return repositoryDirectories;
+    }
+
+    public Optional<ExternalId> constructMavenExternalIdFromUrl(final URL filePath) {
+        final String path = filePath.getFile();
+        Optional<ExternalId> optionalExternalId = externalIdsByPath.get(path);
+        if (optionalExternalId == null) {
+            optionalExternalId = constructMavenExternalIdFromPath(path).map(ComponentInterners::internExternalId);
+            externalIdsByPath.put(path, optionalExternalId);
         }
-        return true;
+        return optionalExternalId;
     }
 
-    public boolean isGradleDependency(final URL filePath) {
-        final String[] filePathSegments = filePath.getFile().split("/");
-        if (filePathSegments.length < 3) {
-            return false;
+    private Optional<ExternalId> constructMavenExternalIdFromPath(final String path) {
+        if (filePathExternalIdExtractor.isInGradleCache(path)) {
+            return filePathExternalIdExtractor.getExternalIdFromLocalGradlePath(path);
         }
-        if (filePathSegments[filePathSegments.length - 3].equals("lib")
-                || filePathSegments[filePathSegments.length - 2].equals("plugins")
-                || filePathSegments[filePathSegments.length - 2].equals("lib")) {
-            return false;
+        final Optional<String> m2RepoPath = getLocalMavenRepoPath();
+        if (m2RepoPath.isPresent() && filePathExternalIdExtractor.isInLocalMavenRepo(path, m2RepoPath.get())) {
+            return filePathExternalIdExtractor.getExternalIdFromLocalMavenPath(path, m2RepoPath.get());
         }
-        for (final String segment : filePathSegments) {
-            if (segment.equals(".gradle")) {
-                return true;
+        return Optional.empty();
+    }
+
+    private Optional<String> getLocalMavenRepoPath() {
+        if (!localMavenRepoPathResolved) {
+            synchronized (localMavenRepoLock) {
+                if (!localMavenRepoPathResolved) {
+                    localMavenRepoPath = resolveLocalMavenRepoPath();
+                    localMavenRepoPathResolved = true;
+                }
             }
         }
-        return false;
+        return localMavenRepoPath;
     }
 
-    public Optional<ExternalId> constructMavenExternalIdFromUrl(final URL filePath) {
-        Optional<ExternalId> optionalExternalId = Optional.empty();
-
-        try {
-            if (this.isGradleDependency(filePath)) {
-                optionalExternalId = filePathExternalIdExtractor.getExternalIdFromLocalGradleUrl(filePath);
-            } else if (this.isMavenDependency(filePath)) {
-                final URL localMavenPath = JavaCore.getClasspathVariable(M2_REPO).toFile().toURI().toURL();
-                optionalExternalId = filePathExternalIdExtractor.getExternalIdFromLocalMavenUrl(filePath, localMavenPath);
+    private Optional<String> resolveLocalMavenRepoPath() {
+        final IPath m2Repo = JavaCore.getClasspathVariable(M2_REPO);
+        if (m2Repo != null) {
+            try {
+                return Optional.of(m2Repo.toFile().toURI().toURL().getFile());
+            } catch (final MalformedURLException e) {
+                log.debug("Could not resolve " + M2_REPO, e);
             }
-        } catch (final MalformedURLException e) {
         }
-
-        return optionalExternalId;
+        return Optional.empty();
     }
 
 }
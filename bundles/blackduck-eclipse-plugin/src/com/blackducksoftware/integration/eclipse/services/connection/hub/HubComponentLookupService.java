@@ -23,53 +23,271 @@
  */
 package com.blackducksoftware.integration.eclipse.services.connection.hub;
 
-import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentLookupResults;
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.HubSession;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.CacheStatistics;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.GroupIdIgnoreList;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.PersistentComponentStore;
 import com.blackducksoftware.integration.eclipse.internal.datastructures.TimedLRUCache;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.TokenBucketRateLimiter;
+import com.blackducksoftware.integration.eclipse.internal.listeners.ComponentRefreshListener;
 import com.blackducksoftware.integration.exception.IntegrationException;
 import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
 import com.blackducksoftware.integration.hub.api.generated.view.VulnerabilityV2View;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
-import com.blackducksoftware.integration.hub.service.ComponentService;
-import com.blackducksoftware.integration.hub.service.HubServicesFactory;
-import com.blackducksoftware.integration.hub.service.LicenseService;
-import com.blackducksoftware.integration.rest.connection.RestConnection;
+import com.blackducksoftware.integration.hub.exception.HubIntegrationException;
+import com.blackducksoftware.integration.rest.exception.IntegrationRestException;
 
 public class HubComponentLookupService {
+    private final Logger log = LoggerFactory.getLogger(HubComponentLookupService.class);
+
+    private final HubConnectionManagerService hubConnectionManagerService;
+    private final HubConnectionMonitorService hubConnectionMonitorService;
     private final HubPreferencesService hubPreferencesService;
-    private final TimedLRUCache<ExternalId, ComponentModel> componentLoadingCache;
+    private final TimedLRUCache<ExternalId, CachedComponent> componentLoadingCache;
+    private final TimedLRUCache<ExternalId, ComponentModel> unknownComponentCache;
+    private volatile GroupIdIgnoreList groupIdIgnoreList;
+    private final Set<ExternalId> refreshingComponents;
+    private final ConcurrentHashMap<ExternalId, InFlightLookup> inFlightLookups;
+    private final List<ComponentRefreshListener> refreshListeners;
+    private final CacheStatistics cacheStatistics;
+    private final ThreadPoolExecutor hubRequestExecutor;
+    private final TokenBucketRateLimiter hubRequestRateLimiter;
+    private volatile Optional<PersistentComponentStore> persistentComponentStore = Optional.empty();
     private final int CACHE_CAPACITY = 10000;
     private final int CACHE_TTL = 3600000;
+    private final long MILLISECONDS_PER_HOUR = 3600000L;
+    private final int UNKNOWN_COMPONENT_CACHE_TTL = 900000;
+    private final int HTTP_NOT_FOUND = 404;
+    private final int MAX_REQUEST_ATTEMPTS = 3;
+    private final long RETRY_BASE_DELAY = 500;
+    private final int IDLE_THREAD_TIMEOUT_SECONDS = 60;
 
-    public HubComponentLookupService(final HubPreferencesService hubPreferencesService) {
+    public HubComponentLookupService(final HubConnectionManagerService hubConnectionManagerService, final HubConnectionMonitorService hubConnectionMonitorService, final HubPreferencesService hubPreferencesService) {
+        this.hubConnectionManagerService = hubConnectionManagerService;
+        this.hubConnectionMonitorService = hubConnectionMonitorService;
         this.hubPreferencesService = hubPreferencesService;
-        this.componentLoadingCache = new TimedLRUCache<>(CACHE_CAPACITY, CACHE_TTL);
-    }
-
-    public ComponentModel lookupComponent(final ExternalId externalId) throws IOException, URISyntaxException, IntegrationException {
-        final Optional<RestConnection> restConnection = hubPreferencesService.getHubConnectionFromPreferences();
-        final HubServicesFactory hubServicesFactory = new HubServicesFactory(restConnection.get());
-        final ComponentService componentService = hubServicesFactory.createComponentService();
-        final LicenseService licenseService = hubServicesFactory.createLicenseService();
-        ComponentModel component = componentLoadingCache.get(externalId);
-        if (component == null) {
-            List<VulnerabilityV2View> vulnerabilities = null;
-            ComplexLicenseView complexLicense = null;
-            try {
-                vulnerabilities = componentService.getVulnerabilitiesFromComponentVersion(externalId);
-                complexLicense = licenseService.getComplexLicenseItemFromComponent(externalId);
-            } catch (final IntegrationException e) {
-                // Do nothing
+        this.cacheStatistics = new CacheStatistics();
+        // Entries are kept until the hard expiry, but are refreshed once they are older than CACHE_TTL
+        this.componentLoadingCache = new TimedLRUCache<>(CACHE_CAPACITY, getHardExpiry(), cacheStatistics);
+        // Components the Hub doesn't know about are asked for again sooner, in case they have since been added to the KB
+        this.unknownComponentCache = new TimedLRUCache<>(CACHE_CAPACITY, UNKNOWN_COMPONENT_CACHE_TTL, cacheStatistics);
+        this.groupIdIgnoreList = new GroupIdIgnoreList(hubPreferencesService.getHubIgnoredGroupIds());
+        this.refreshingComponents = ConcurrentHashMap.newKeySet();
+        this.inFlightLookups = new ConcurrentHashMap<>();
+        this.refreshListeners = new CopyOnWriteArrayList<>();
+        final int maxConcurrentRequests = hubPreferencesService.getHubMaxConcurrentRequests();
+        this.hubRequestExecutor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new HubRequestThreadFactory());
+        this.hubRequestExecutor.allowCoreThreadTimeOut(true);
+        this.hubRequestRateLimiter = new TokenBucketRateLimiter(hubPreferencesService.getHubRequestsPerSecond());
+    }
+
+    public void loadPersistentCache(final File storeFile) {
+        final PersistentComponentStore componentStore = new PersistentComponentStore(storeFile, getHardExpiry());
+        componentStore.load(System.currentTimeMillis(), (component, writeTime) -> componentLoadingCache.put(component.getExternalId(), new CachedComponent(component, writeTime), writeTime));
+        persistentComponentStore = Optional.of(componentStore);
+    }
+
+    public CompletableFuture<ComponentModel> lookupComponentAsync(final ExternalId externalId, final IProgressMonitor monitor) {
+        return resolveComponent(externalId, monitor);
+    }
+
+    /**
+     * Looks up a whole set of components at once. Cache hits are answered straight away and the rest are pipelined through the
+     * Hub request pool. lookupCompleted is called as each component finishes, with an empty Optional if its lookup failed.
+     */
+    public CompletableFuture<ComponentLookupResults> lookupComponentsAsync(final Collection<ExternalId> externalIds, final IProgressMonitor monitor, final BiConsumer<ExternalId, Optional<ComponentModel>> lookupCompleted) {
+        final Map<ExternalId, CompletableFuture<ComponentModel>> lookups = new LinkedHashMap<>();
+        final List<CompletableFuture<Void>> notifications = new ArrayList<>();
+        for (final ExternalId externalId : externalIds) {
+            if (!lookups.containsKey(externalId)) {
+                final CompletableFuture<ComponentModel> lookup = resolveComponent(externalId, monitor);
+                lookups.put(externalId, lookup);
+                notifications.add(lookup.handle((component, error) -> {
+                    lookupCompleted.accept(externalId, error == null ? Optional.of(component) : Optional.empty());
+                    return null;
+                }));
+            }
+        }
+        return CompletableFuture.allOf(notifications.toArray(new CompletableFuture<?>[notifications.size()])).handle((ignored, error) -> {
+            final Map<ExternalId, ComponentModel> components = new LinkedHashMap<>();
+            final Map<ExternalId, Throwable> failures = new LinkedHashMap<>();
+            lookups.forEach((externalId, lookup) -> {
+                try {
+                    components.put(externalId, lookup.join());
+                } catch (final CompletionException e) {
+                    failures.put(externalId, e.getCause());
+                }
+            });
+            return new ComponentLookupResults(components, failures);
+        });
+    }
+
+    private CompletableFuture<ComponentModel> resolveComponent(final ExternalId externalId, final IProgressMonitor monitor) {
+        if (groupIdIgnoreList.isIgnored(externalId)) {
+            return CompletableFuture.completedFuture(createUnknownComponent(externalId));
+        }
+        final ComponentModel unknownComponent = unknownComponentCache.get(externalId);
+        if (unknownComponent != null) {
+            cacheStatistics.recordHit();
+            return CompletableFuture.completedFuture(unknownComponent);
+        }
+        final CachedComponent cachedComponent = componentLoadingCache.get(externalId);
+        if (cachedComponent != null) {
+            cacheStatistics.recordHit();
+            if (System.currentTimeMillis() - cachedComponent.writeTime < CACHE_TTL) {
+                return CompletableFuture.completedFuture(cachedComponent.component);
             }
+            // Serve the stale component right away rather than block on the Hub
+            refreshComponent(externalId);
+            return CompletableFuture.completedFuture(cachedComponent.getStaleComponent());
+        }
+        cacheStatistics.recordMiss();
+        return loadComponentOnce(externalId, monitor);
+    }
+
+    public void addRefreshListener(final ComponentRefreshListener listener) {
+        refreshListeners.add(listener);
+    }
+
+    public void removeRefreshListener(final ComponentRefreshListener listener) {
+        refreshListeners.remove(listener);
+    }
+
+    private void refreshComponent(final ExternalId externalId) {
+        if (!hubConnectionMonitorService.isConnected() || !refreshingComponents.add(externalId)) {
+            return;
+        }
+        try {
+            loadComponentOnce(externalId, new NullProgressMonitor()).whenComplete((refreshedComponent, error) -> {
+                refreshingComponents.remove(externalId);
+                if (error != null) {
+                    log.debug("Could not refresh " + externalId.createExternalId(), error);
+                    return;
+                }
+                // A failed load is not cached, so the stale component stays until the next refresh or the hard expiry
+                final CachedComponent currentComponent = componentLoadingCache.get(externalId);
+                if (currentComponent != null && currentComponent.component == refreshedComponent) {
+                    refreshListeners.forEach(listener -> listener.componentRefreshed(refreshedComponent));
+                }
+            });
+        } catch (final RuntimeException e) {
+            refreshingComponents.remove(externalId);
+            throw e;
+        }
+    }
+
+    // Concurrent callers for the same component share one in-flight load, which is cancelled only once all of them have cancelled
+    private CompletableFuture<ComponentModel> loadComponentOnce(final ExternalId externalId, final IProgressMonitor monitor) {
+        while (true) {
+            final InFlightLookup inFlightLookup = inFlightLookups.get(externalId);
+            if (inFlightLookup != null) {
+                if (inFlightLookup.sharedMonitor.join(monitor)) {
+                    cacheStatistics.recordCoalesced();
+                    return inFlightLookup.result;
+                }
+                inFlightLookups.remove(externalId, inFlightLookup);
+                continue;
+            }
+            final InFlightLookup newLookup = new InFlightLookup(monitor);
+            if (inFlightLookups.putIfAbsent(externalId, newLookup) == null) {
+                try {
+                    loadComponent(externalId, newLookup.sharedMonitor).whenComplete((component, error) -> {
+                        inFlightLookups.remove(externalId, newLookup);
+                        if (error == null) {
+                            newLookup.result.complete(component);
+                        } else {
+                            newLookup.result.completeExceptionally(error);
+                        }
+                    });
+                } catch (final RuntimeException e) {
+                    inFlightLookups.remove(externalId, newLookup);
+                    throw e;
+                }
+                return newLookup.result;
+            }
+        }
+    }
+
+    private CompletableFuture<ComponentModel> loadComponent(final ExternalId externalId, final IProgressMonitor monitor) {
+        final long loadStartTime = System.nanoTime();
+        final CompletableFuture<List<VulnerabilityV2View>> vulnerabilitiesRequest = submitHubRequest(monitor, session -> session.getComponentService().getVulnerabilitiesFromComponentVersion(externalId));
+        final CompletableFuture<ComplexLicenseView> licenseRequest = submitHubRequest(monitor, session -> session.getLicenseService().getComplexLicenseItemFromComponent(externalId));
+        return CompletableFuture.allOf(vulnerabilitiesRequest, licenseRequest).handle((ignored, error) -> {
+            if (error != null && error.getCause() instanceof OperationCanceledException) {
+                throw (OperationCanceledException) error.getCause();
+            }
+            final Optional<Throwable> unavailableFailure = getRequestFailure(vulnerabilitiesRequest).filter(HubUnavailableException.class::isInstance);
+            final Optional<Throwable> hubUnavailable = unavailableFailure.isPresent() ? unavailableFailure : getRequestFailure(licenseRequest).filter(HubUnavailableException.class::isInstance);
+            if (hubUnavailable.isPresent()) {
+                // Not the component's fault, so fail the lookup rather than show the component as unknown
+                cacheStatistics.recordLoadFailure(System.nanoTime() - loadStartTime);
+                throw new CompletionException(hubUnavailable.get());
+            }
+            // Components the Hub can't resolve are shown as unknown, and are not cached
+            final boolean loadSucceeded = (error == null);
+            final List<VulnerabilityV2View> vulnerabilities = vulnerabilitiesRequest.isCompletedExceptionally() ? null : vulnerabilitiesRequest.join();
+            final ComplexLicenseView complexLicense = loadSucceeded ? licenseRequest.join() : null;
             final int[] vulnerabilitySeverityCount = getVulnerabilitySeverityCount(vulnerabilities);
             final boolean componentKnown = (vulnerabilities != null);
-            component = new ComponentModel(externalId, complexLicense, vulnerabilitySeverityCount, componentKnown);
-        }
-        return component;
+            final ComponentModel component = new ComponentModel(externalId, complexLicense, vulnerabilitySeverityCount, componentKnown);
+            final long loadTime = System.nanoTime() - loadStartTime;
+            if (loadSucceeded) {
+                final long writeTime = System.currentTimeMillis();
+                componentLoadingCache.put(externalId, new CachedComponent(component, writeTime), writeTime);
+                persistentComponentStore.ifPresent(componentStore -> componentStore.append(component, writeTime));
+                cacheStatistics.recordLoadSuccess(loadTime);
+            } else if (!componentKnown && isUnknownComponentFailure(vulnerabilitiesRequest)) {
+                unknownComponentCache.put(externalId, component);
+                cacheStatistics.recordLoadSuccess(loadTime);
+            } else {
+                cacheStatistics.recordLoadFailure(loadTime);
+            }
+            return component;
+        });
+    }
+
+    public void clearCache() {
+        componentLoadingCache.clear();
+        unknownComponentCache.clear();
+        persistentComponentStore.ifPresent(PersistentComponentStore::clear);
+    }
+
+    public CacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+
+    public void shutDown() {
+        hubRequestExecutor.shutdownNow();
+        persistentComponentStore.ifPresent(PersistentComponentStore::close);
     }
 
     public int[] getVulnerabilitySeverityCount(final List<VulnerabilityV2View> vulnerabilities) {
@@ -97,4 +315,221 @@ public class HubComponentLookupService {
         return new int[] { high, medium, low };
     }
 
+    private <T> CompletableFuture<T> submitHubRequest(final IProgressMonitor monitor, final HubRequest<T> request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return executeHubRequest(monitor, request);
+            } catch (final IntegrationException e) {
+                throw new CompletionException(e);
+            }
+        }, hubRequestExecutor);
+    }
+
+    private <T> T executeHubRequest(final IProgressMonitor monitor, final HubRequest<T> request) throws IntegrationException {
+        for (int attempt = 1;; attempt++) {
+            if (!hubConnectionMonitorService.isConnected()) {
+                throw new HubUnavailableException("The Black Duck Hub is not available", null);
+            }
+            try {
+                final T result = executeAuthenticatedHubRequest(monitor, request);
+                hubConnectionMonitorService.recordRequestSuccess();
+                return result;
+            } catch (final IntegrationException e) {
+                if (!hubConnectionManagerService.isTransientFailure(e)) {
+                    // The Hub answered, even if it was only to say it doesn't know the component
+                    hubConnectionMonitorService.recordRequestSuccess();
+                    throw e;
+                }
+                if (attempt >= MAX_REQUEST_ATTEMPTS) {
+                    hubConnectionMonitorService.recordRequestFailure();
+                    throw new HubUnavailableException("The Black Duck Hub request failed after " + attempt + " attempts", e);
+                }
+                waitBeforeRetry(monitor, attempt);
+            }
+        }
+    }
+
+    // Exponential backoff with jitter, so that requests that failed together don't all retry together
+    private void waitBeforeRetry(final IProgressMonitor monitor, final int attempt) {
+        final long maxDelay = RETRY_BASE_DELAY << (attempt - 1);
+        final long delay = maxDelay / 2 + ThreadLocalRandom.current().nextLong(maxDelay / 2 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        }
+        if (monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+    }
+
+    private <T> T executeAuthenticatedHubRequest(final IProgressMonitor monitor, final HubRequest<T> request) throws IntegrationException {
+        HubSession session = hubConnectionManagerService.getActiveSession();
+        acquireRequestPermit(monitor);
+        try {
+            return request.execute(session);
+        } catch (final IntegrationException e) {
+            if (!hubConnectionManagerService.isAuthenticationFailure(e)) {
+                throw e;
+            }
+            // The shared session has expired, so log in again and retry once
+            hubConnectionManagerService.invalidateSession(session);
+            try {
+                session = hubConnectionManagerService.getActiveSession();
+            } catch (final IntegrationException loginException) {
+                // Stop further lookups until the monitor can log in again
+                hubConnectionMonitorService.invalidate();
+                throw loginException;
+            }
+            acquireRequestPermit(monitor);
+            return request.execute(session);
+        }
+    }
+
+    private void acquireRequestPermit(final IProgressMonitor monitor) {
+        if (monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+        try {
+            hubRequestRateLimiter.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        }
+        if (monitor.isCanceled()) {
+            throw new OperationCanceledException();
+        }
+    }
+
+    private ComponentModel createUnknownComponent(final ExternalId externalId) {
+        return new ComponentModel(externalId, null, getVulnerabilitySeverityCount(null), false);
+    }
+
+    // The Hub answers with an error, rather than an empty result, for components it can't match
+    private boolean isUnknownComponentFailure(final CompletableFuture<?> request) {
+        final Optional<Throwable> failure = getRequestFailure(request);
+        if (failure.isPresent() && failure.get() instanceof IntegrationRestException) {
+            return ((IntegrationRestException) failure.get()).getHttpStatusCode() == HTTP_NOT_FOUND;
+        }
+        return failure.isPresent() && failure.get() instanceof HubIntegrationException;
+    }
+
+    private Optional<Throwable> getRequestFailure(final CompletableFuture<?> request) {
+        try {
+            request.join();
+            return Optional.empty();
+        } catch (final CompletionException e) {
+            return Optional.ofNullable(e.getCause());
+        }
+    }
+
+    // Called when the preferences change, so that lookups themselves never read the preference store
+    public synchronized void applyLookupPreferences() {
+        final String ignoredGroupIds = StringUtils.defaultString(hubPreferencesService.getHubIgnoredGroupIds());
+        if (!ignoredGroupIds.equals(groupIdIgnoreList.getPatternList())) {
+            groupIdIgnoreList = new GroupIdIgnoreList(ignoredGroupIds);
+        }
+        componentLoadingCache.setTimeout(getHardExpiry());
+        applyConcurrencyPreferences();
+    }
+
+    private int getHardExpiry() {
+        final long hardExpiry = hubPreferencesService.getHubCacheHardExpiryHours() * MILLISECONDS_PER_HOUR;
+        return (int) Math.max(CACHE_TTL, Math.min(Integer.MAX_VALUE, hardExpiry));
+    }
+
+    private void applyConcurrencyPreferences() {
+        final int maxConcurrentRequests = hubPreferencesService.getHubMaxConcurrentRequests();
+        if (maxConcurrentRequests > hubRequestExecutor.getMaximumPoolSize()) {
+            hubRequestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+            hubRequestExecutor.setCorePoolSize(maxConcurrentRequests);
+        } else if (maxConcurrentRequests < hubRequestExecutor.getMaximumPoolSize()) {
+            hubRequestExecutor.setCorePoolSize(maxConcurrentRequests);
+            hubRequestExecutor.setMaximumPoolSize(maxConcurrentRequests);
+        }
+        final int requestsPerSecond = hubPreferencesService.getHubRequestsPerSecond();
+        if (requestsPerSecond != hubRequestRateLimiter.getRate()) {
+            hubRequestRateLimiter.setRate(requestsPerSecond);
+        }
+    }
+
+    private static class CachedComponent {
+        private final ComponentModel component;
+        private final long writeTime;
+        // Handed out for every lookup until the refresh lands, so that projects don't see a new model each time
+        private volatile ComponentModel staleComponent;
+
+        private CachedComponent(final ComponentModel component, final long writeTime) {
+            this.component = component;
+            this.writeTime = writeTime;
+        }
+
+        private ComponentModel getStaleComponent() {
+            if (staleComponent == null) {
+                staleComponent = component.asStale();
+            }
+            return staleComponent;
+        }
+    }
+
+    private static class InFlightLookup {
+        private final SharedProgressMonitor sharedMonitor;
+        private final CompletableFuture<ComponentModel> result;
+
+        private InFlightLookup(final IProgressMonitor monitor) {
+            this.sharedMonitor = new SharedProgressMonitor(monitor);
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    private static class SharedProgressMonitor extends NullProgressMonitor {
+        private final List<IProgressMonitor> callerMonitors = new ArrayList<>();
+        private boolean abandoned;
+
+        private SharedProgressMonitor(final IProgressMonitor monitor) {
+            callerMonitors.add(monitor);
+        }
+
+        // Once every caller has cancelled, later callers start a new load rather than join a cancelled one
+        private synchronized boolean join(final IProgressMonitor monitor) {
+            if (abandoned) {
+                return false;
+            }
+            callerMonitors.add(monitor);
+            return true;
+        }
+
+        @Override
+        public synchronized boolean isCanceled() {
+            if (!abandoned) {
+                abandoned = callerMonitors.stream().allMatch(IProgressMonitor::isCanceled);
+            }
+            return abandoned;
+        }
+    }
+
+    private static class HubUnavailableException extends IntegrationException {
+        private static final long serialVersionUID = 1L;
+
+        private HubUnavailableException(final String message, final Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private interface HubRequest<T> {
+        T execute(HubSession session) throws IntegrationException;
+    }
+
+    private static class HubRequestThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "Black Duck Hub lookup " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
@@ -0,0 +1,110 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.services.connection.hub;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.eclipse.internal.HubSession;
+import com.blackducksoftware.integration.exception.IntegrationException;
+import com.blackducksoftware.integration.rest.connection.RestConnection;
+import com.blackducksoftware.integration.rest.exception.IntegrationRestException;
+
+public class HubConnectionManagerService {
+    private final Logger log = LoggerFactory.getLogger(HubConnectionManagerService.class);
+
+    private final HubPreferencesService hubPreferencesService;
+    private final Object sessionLock = new Object();
+    private volatile HubSession session;
+
+    public static final int HTTP_UNAUTHORIZED = 401;
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+    public static final int HTTP_SERVER_ERROR = 500;
+
+    public HubConnectionManagerService(final HubPreferencesService hubPreferencesService) {
+        this.hubPreferencesService = hubPreferencesService;
+    }
+
+    public HubSession getActiveSession() throws IntegrationException {
+        HubSession currentSession = session;
+        if (currentSession == null) {
+            synchronized (sessionLock) {
+                currentSession = session;
+                if (currentSession == null) {
+                    // Log in once and share the session until the preferences change or the Hub rejects it
+                    currentSession = new HubSession(hubPreferencesService.createHubConnectionFromPreferences());
+                    session = currentSession;
+                }
+            }
+        }
+        return currentSession;
+    }
+
+    public void checkHubConnection() throws IntegrationException {
+        // Log in on a separate connection so the check doesn't rebuild the client that lookups are using
+        final RestConnection connection = hubPreferencesService.createHubConnectionFromPreferences();
+        try {
+            connection.close();
+        } catch (final IOException e) {
+            log.debug("Could not close the Hub connection check: " + e.getMessage());
+        }
+    }
+
+    public void invalidateSession() {
+        synchronized (sessionLock) {
+            session = null;
+        }
+    }
+
+    public void invalidateSession(final HubSession expiredSession) {
+        // Only drop the session that failed, so a session rebuilt in the meantime survives
+        synchronized (sessionLock) {
+            if (session == expiredSession) {
+                log.debug("Discarding expired Hub session");
+                session = null;
+            }
+        }
+    }
+
+    public boolean isAuthenticationFailure(final IntegrationException e) {
+        return e instanceof IntegrationRestException && ((IntegrationRestException) e).getHttpStatusCode() == HTTP_UNAUTHORIZED;
+    }
+
+    // Overloaded or restarting servers answer with 429 or a 5xx, and unreachable ones fail with an I/O error
+    public boolean isTransientFailure(final IntegrationException e) {
+        if (e instanceof IntegrationRestException) {
+            final int statusCode = ((IntegrationRestException) e).getHttpStatusCode();
+            return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode >= HTTP_SERVER_ERROR;
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
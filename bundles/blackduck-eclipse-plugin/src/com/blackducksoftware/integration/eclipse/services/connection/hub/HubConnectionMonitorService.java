@@ -0,0 +1,166 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.services.connection.hub;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackducksoftware.integration.eclipse.internal.HubConnectionMonitorJob;
+import com.blackducksoftware.integration.eclipse.internal.HubConnectionStatus;
+import com.blackducksoftware.integration.eclipse.internal.listeners.HubConnectionStatusListener;
+import com.blackducksoftware.integration.exception.IntegrationException;
+
+public class HubConnectionMonitorService {
+    private final Logger log = LoggerFactory.getLogger(HubConnectionMonitorService.class);
+
+    public static final long INITIAL_RETRY_DELAY = 5000;
+    public static final long MAX_RETRY_DELAY = 300000;
+    public static final long CONNECTED_CHECK_INTERVAL = 300000;
+    public static final int REQUEST_FAILURE_THRESHOLD = 5;
+
+    private final HubConnectionManagerService hubConnectionManagerService;
+    private final List<HubConnectionStatusListener> listeners;
+    private final HubConnectionMonitorJob monitorJob;
+    private volatile HubConnectionStatus status = HubConnectionStatus.DISCONNECTED;
+    private int consecutiveFailures = 0;
+    private int consecutiveRequestFailures = 0;
+
+    public HubConnectionMonitorService(final HubConnectionManagerService hubConnectionManagerService) {
+        this.hubConnectionManagerService = hubConnectionManagerService;
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.monitorJob = new HubConnectionMonitorJob(this);
+    }
+
+    public HubConnectionStatus getStatus() {
+        return status;
+    }
+
+    public boolean isConnected() {
+        return status == HubConnectionStatus.CONNECTED;
+    }
+
+    public void addListener(final HubConnectionStatusListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final HubConnectionStatusListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void start() {
+        monitorJob.schedule();
+    }
+
+    public void stop() {
+        monitorJob.cancel();
+    }
+
+    public void invalidate() {
+        // Whatever we knew about the old settings no longer applies, so check again straight away
+        hubConnectionManagerService.invalidateSession();
+        synchronized (this) {
+            consecutiveFailures = 0;
+            consecutiveRequestFailures = 0;
+        }
+        updateStatus(HubConnectionStatus.DISCONNECTED);
+        monitorJob.cancel();
+        monitorJob.schedule();
+    }
+
+    public synchronized void recordRequestSuccess() {
+        consecutiveRequestFailures = 0;
+    }
+
+    /**
+     * Called when a Hub request still fails after its retries. Enough failures in a row open the circuit: the Hub is treated as
+     * disconnected, which pauses inspections and lookups, until the monitor manages to log in again.
+     */
+    public void recordRequestFailure() {
+        final long nextCheckDelay;
+        synchronized (this) {
+            consecutiveRequestFailures++;
+            if (consecutiveRequestFailures != REQUEST_FAILURE_THRESHOLD || status != HubConnectionStatus.CONNECTED) {
+                return;
+            }
+            nextCheckDelay = getNextCheckDelay(HubConnectionStatus.DISCONNECTED);
+        }
+        log.warn("Pausing Black Duck Hub lookups after " + REQUEST_FAILURE_THRESHOLD + " failed requests in a row");
+        // Drop the session so that the next check has to reach the server to log in again
+        hubConnectionManagerService.invalidateSession();
+        updateStatus(HubConnectionStatus.DISCONNECTED);
+        monitorJob.cancel();
+        monitorJob.schedule(nextCheckDelay);
+    }
+
+    public long refresh() {
+        HubConnectionStatus newStatus;
+        try {
+            if (isConnected()) {
+                // The shared session never goes back to the server by itself, so prove that the Hub still lets us in
+                hubConnectionManagerService.checkHubConnection();
+            } else {
+                hubConnectionManagerService.getActiveSession();
+            }
+            newStatus = HubConnectionStatus.CONNECTED;
+        } catch (final IntegrationException e) {
+            hubConnectionManagerService.invalidateSession();
+            newStatus = hubConnectionManagerService.isAuthenticationFailure(e) ? HubConnectionStatus.AUTH_FAILED : HubConnectionStatus.DISCONNECTED;
+            log.debug("Could not connect to the Hub: " + e.getMessage());
+        } catch (final Exception e) {
+            hubConnectionManagerService.invalidateSession();
+            newStatus = HubConnectionStatus.DISCONNECTED;
+            log.debug("Could not connect to the Hub: " + e.getMessage());
+        }
+        final long nextCheckDelay = getNextCheckDelay(newStatus);
+        updateStatus(newStatus);
+        return nextCheckDelay;
+    }
+
+    private synchronized long getNextCheckDelay(final HubConnectionStatus newStatus) {
+        if (newStatus == HubConnectionStatus.CONNECTED) {
+            consecutiveFailures = 0;
+            consecutiveRequestFailures = 0;
+            return CONNECTED_CHECK_INTERVAL;
+        }
+        final long delay = INITIAL_RETRY_DELAY << Math.min(consecutiveFailures, 16);
+        consecutiveFailures++;
+        return Math.min(delay, MAX_RETRY_DELAY);
+    }
+
+    private void updateStatus(final HubConnectionStatus newStatus) {
+        final HubConnectionStatus previousStatus;
+        synchronized (this) {
+            previousStatus = status;
+            status = newStatus;
+        }
+        if (previousStatus != newStatus) {
+            log.info("Hub connection status changed from " + previousStatus + " to " + newStatus);
+            listeners.forEach(listener -> listener.connectionStatusChanged(previousStatus, newStatus));
+        }
+    }
+
+}
@@ -33,6 +33,7 @@ import com.blackducksoftware.integration.eclipse.services.BlackDuckPreferencesSe
 import com.blackducksoftware.integration.encryption.PasswordDecrypter;
 import com.blackducksoftware.integration.encryption.PasswordEncrypter;
 import com.blackducksoftware.integration.exception.EncryptionException;
+import com.blackducksoftware.integration.exception.IntegrationException;
 import com.blackducksoftware.integration.rest.connection.RestConnection;
 
 public class HubPreferencesService {
@@ -52,15 +53,25 @@ public class HubPreferencesService {
     public static final String PROXY_PASSWORD_LENGTH = "proxyPasswordLength";
     public static final String PROXY_HOST = "proxyHost";
     public static final String PROXY_PORT = "proxyPort";
+    public static final String HUB_MAX_CONCURRENT_REQUESTS = "hubMaxConcurrentRequests";
+    public static final String HUB_REQUESTS_PER_SECOND = "hubRequestsPerSecond";
+    public static final String HUB_CACHE_HARD_EXPIRY_HOURS = "hubCacheHardExpiryHours";
+    public static final String HUB_IGNORED_GROUP_IDS = "hubIgnoredGroupIds";
 
     public static final String DEFAULT_HUB_TIMEOUT = "120";
     public static final boolean DEFAULT_HUB_ALWAYS_TRUST = true;
+    public static final String DEFAULT_HUB_MAX_CONCURRENT_REQUESTS = "8";
+    public static final String DEFAULT_HUB_REQUESTS_PER_SECOND = "20";
+    public static final String DEFAULT_HUB_CACHE_HARD_EXPIRY_HOURS = "24";
 
     public HubPreferencesService(final HubConnectionService hubConnectionService, final BlackDuckPreferencesService blackDuckPreferencesService) {
         this.hubConnectionService = hubConnectionService;
         this.blackDuckPreferencesService = blackDuckPreferencesService;
         blackDuckPreferencesService.setPreferenceDefault(HUB_TIMEOUT, DEFAULT_HUB_TIMEOUT);
         blackDuckPreferencesService.setPreferenceDefault(HUB_ALWAYS_TRUST, DEFAULT_HUB_ALWAYS_TRUST);
+        blackDuckPreferencesService.setPreferenceDefault(HUB_MAX_CONCURRENT_REQUESTS, DEFAULT_HUB_MAX_CONCURRENT_REQUESTS);
+        blackDuckPreferencesService.setPreferenceDefault(HUB_REQUESTS_PER_SECOND, DEFAULT_HUB_REQUESTS_PER_SECOND);
+        blackDuckPreferencesService.setPreferenceDefault(HUB_CACHE_HARD_EXPIRY_HOURS, DEFAULT_HUB_CACHE_HARD_EXPIRY_HOURS);
     }
 
     public String getPreference(final String preference) {
@@ -94,6 +105,22 @@ public class HubPreferencesService {
         return Boolean.parseBoolean(this.getPreference(HUB_ALWAYS_TRUST));
     }
 
+    public int getHubMaxConcurrentRequests() {
+        return parsePositiveInt(this.getPreference(HUB_MAX_CONCURRENT_REQUESTS), DEFAULT_HUB_MAX_CONCURRENT_REQUESTS);
+    }
+
+    public int getHubRequestsPerSecond() {
+        return parsePositiveInt(this.getPreference(HUB_REQUESTS_PER_SECOND), DEFAULT_HUB_REQUESTS_PER_SECOND);
+    }
+
+    public int getHubCacheHardExpiryHours() {
+        return parsePositiveInt(this.getPreference(HUB_CACHE_HARD_EXPIRY_HOURS), DEFAULT_HUB_CACHE_HARD_EXPIRY_HOURS);
+    }
+
+    public String getHubIgnoredGroupIds() {
+        return this.getPreference(HUB_IGNORED_GROUP_IDS);
+    }
+
     public String getHubProxyUsername() {
         return this.getPreference(PROXY_USERNAME);
     }
@@ -151,6 +178,22 @@ public class HubPreferencesService {
         this.savePreference(HUB_ALWAYS_TRUST, Boolean.toString(hubAlwaysTrust));
     }
 
+    public void saveHubMaxConcurrentRequests(final String maxConcurrentRequests) {
+        this.savePreference(HUB_MAX_CONCURRENT_REQUESTS, maxConcurrentRequests);
+    }
+
+    public void saveHubRequestsPerSecond(final String requestsPerSecond) {
+        this.savePreference(HUB_REQUESTS_PER_SECOND, requestsPerSecond);
+    }
+
+    public void saveHubCacheHardExpiryHours(final String cacheHardExpiryHours) {
+        this.savePreference(HUB_CACHE_HARD_EXPIRY_HOURS, cacheHardExpiryHours);
+    }
+
+    public void saveHubIgnoredGroupIds(final String ignoredGroupIds) {
+        this.savePreference(HUB_IGNORED_GROUP_IDS, ignoredGroupIds);
+    }
+
     public void saveHubProxyUsername(final String proxyUsername) {
         this.savePreference(PROXY_USERNAME, proxyUsername);
     }
@@ -181,17 +224,7 @@ public class HubPreferencesService {
         RestConnection connection = null;
 
         try {
-            connection = hubConnectionService.getCredentialsRestConnection(
-                    getHubUsername(),
-                    getHubPassword(),
-                    getHubUrl(),
-                    getHubTimeout(),
-                    getHubAlwaysTrust(),
-                    getHubProxyUsername(),
-                    getHubProxyPassword(),
-                    getHubProxyPort(),
-                    getHubProxyHost());
-            connection.connect();
+            connection = createHubConnectionFromPreferences();
         } catch (final Exception e) {
             log.warn("Could not get Hub connection from stored preferences: " + e.getMessage());
             log.debug("Stack trace: ", e);
@@ -200,10 +233,40 @@ public class HubPreferencesService {
         return Optional.ofNullable(connection);
     }
 
+    public RestConnection createHubConnectionFromPreferences() throws IntegrationException {
+        final RestConnection connection = hubConnectionService.getCredentialsRestConnection(
+                getHubUsername(),
+                getHubPassword(),
+                getHubUrl(),
+                getHubTimeout(),
+                getHubAlwaysTrust(),
+                getHubProxyUsername(),
+                getHubProxyPassword(),
+                getHubProxyPort(),
+                getHubProxyHost());
+        // Lookups run in parallel, so allow as many pooled connections as concurrent requests
+        final int maxConcurrentRequests = getHubMaxConcurrentRequests();
+        connection.getClientBuilder().setMaxConnPerRoute(maxConcurrentRequests).setMaxConnTotal(maxConcurrentRequests);
+        connection.connect();
+        return connection;
+    }
+
     public boolean canEstablishHubConnection() {
         return getHubConnectionFromPreferences().isPresent();
     }
 
+    private int parsePositiveInt(final String value, final String defaultValue) {
+        try {
+            final int parsedValue = Integer.parseInt(value);
+            if (parsedValue > 0) {
+                return parsedValue;
+            }
+        } catch (final NumberFormatException e) {
+            log.debug("Invalid preference value " + value + ", using " + defaultValue);
+        }
+        return Integer.parseInt(defaultValue);
+    }
+
     private String decryptPassword(final String encryptedPassword, final int actualLength) {
         String decryptedPassword;
         if (encryptedPassword.length() == actualLength) {
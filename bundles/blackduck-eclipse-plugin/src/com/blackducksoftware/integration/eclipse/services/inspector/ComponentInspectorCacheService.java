@@ -23,91 +23,275 @@
  */
 package com.blackducksoftware.integration.eclipse.services.inspector;
 
+import java.io.File;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackducksoftware.integration.eclipse.internal.ComponentLookupResults;
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
-import com.blackducksoftware.integration.eclipse.internal.ComponentModelVulnerabilityFirstComparator;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.ComponentSnapshot;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.ProjectInventorySnapshot;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.SortedComponentSet;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.WorkspaceComponentIndex;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubComponentLookupService;
-import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
-import com.blackducksoftware.integration.exception.IntegrationException;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
 
 public class ComponentInspectorCacheService {
     private final Logger log = LoggerFactory.getLogger(ComponentInspectorCacheService.class);
 
-    private final Map<String, List<ComponentModel>> inspectorCache;
+    private final Map<String, SortedComponentSet> inspectorCache;
+    private final Map<String, Set<ExternalId>> inspectedExternalIds;
+    // Projects showing components restored from the snapshot, which have not been inspected since
+    private final Set<String> provisionalProjects;
+    private final WorkspaceComponentIndex workspaceComponentIndex;
     private final ComponentInspectorViewService componentInspectorViewService;
     private final HubComponentLookupService hubComponentLookupService;
-    private final HubPreferencesService hubPreferencesService;
+    private final HubConnectionMonitorService hubConnectionMonitorService;
+    private volatile Optional<ProjectInventorySnapshot> inventorySnapshot = Optional.empty();
+    // Projects from the snapshot that have not been shown or inspected yet, read from disk on first use
+    private Map<String, List<ComponentModel>> unrestoredProjects;
 
-    public ComponentInspectorCacheService(final ComponentInspectorViewService componentInspectorViewService, final HubComponentLookupService hubComponentLookupService, final HubPreferencesService hubPreferencesService) {
+    public ComponentInspectorCacheService(final ComponentInspectorViewService componentInspectorViewService, final HubComponentLookupService hubComponentLookupService, final HubConnectionMonitorService hubConnectionMonitorService) {
         this.componentInspectorViewService = componentInspectorViewService;
         this.hubComponentLookupService = hubComponentLookupService;
-        this.hubPreferencesService = hubPreferencesService;
-        this.inspectorCache = new HashMap<>();
+        this.hubConnectionMonitorService = hubConnectionMonitorService;
+        this.inspectorCache = new ConcurrentHashMap<>();
+        this.inspectedExternalIds = new ConcurrentHashMap<>();
+        this.provisionalProjects = ConcurrentHashMap.newKeySet();
+        this.workspaceComponentIndex = new WorkspaceComponentIndex();
+    }
+
+    public void attachInventorySnapshot(final File snapshotFile) {
+        inventorySnapshot = Optional.of(new ProjectInventorySnapshot(snapshotFile));
+    }
+
+    public void saveInventorySnapshot() {
+        if (!inventorySnapshot.isPresent()) {
+            return;
+        }
+        final Map<String, List<ComponentModel>> projectComponents = copyUnrestoredProjects();
+        for (final String projectName : inspectorCache.keySet()) {
+            final SortedComponentSet models = inspectorCache.get(projectName);
+            if (models != null) {
+                projectComponents.put(projectName, models.snapshot().getComponentList());
+            }
+        }
+        try {
+            inventorySnapshot.get().write(projectComponents);
+        } catch (final IOException e) {
+            log.warn("Could not write the project inventory snapshot " + inventorySnapshot.get().getSnapshotFile() + ": " + e.getMessage());
+        }
+    }
+
+    private synchronized Map<String, List<ComponentModel>> copyUnrestoredProjects() {
+        return new HashMap<>(getUnrestoredProjects());
+    }
+
+    private synchronized List<ComponentModel> takeUnrestoredProject(final String projectName) {
+        return getUnrestoredProjects().remove(projectName);
+    }
+
+    private synchronized void discardUnrestoredProjects() {
+        // Read the snapshot anyway, so that it can't be restored later on
+        getUnrestoredProjects().clear();
+    }
+
+    private Map<String, List<ComponentModel>> getUnrestoredProjects() {
+        if (unrestoredProjects == null) {
+            unrestoredProjects = new HashMap<>();
+            if (inventorySnapshot.isPresent()) {
+                try {
+                    unrestoredProjects.putAll(inventorySnapshot.get().read());
+                } catch (final IOException e) {
+                    log.warn("Could not read the project inventory snapshot " + inventorySnapshot.get().getSnapshotFile() + ": " + e.getMessage());
+                }
+            }
+        }
+        return unrestoredProjects;
+    }
+
+    private void restoreProject(final String projectName) {
+        if (inspectorCache.containsKey(projectName)) {
+            return;
+        }
+        final List<ComponentModel> snapshotComponents = takeUnrestoredProject(projectName);
+        if (snapshotComponents != null) {
+            // Restored components are only shown until the first inspection has looked all of them up again
+            final SortedComponentSet models = new SortedComponentSet();
+            if (inspectorCache.putIfAbsent(projectName, models) == null) {
+                provisionalProjects.add(projectName);
+                snapshotComponents.forEach(component -> models.add(addUsage(projectName, component.asStale())));
+            }
+        }
     }
 
     public List<ComponentModel> initializeProject(final String projectName) {
-        return inspectorCache.put(projectName, Collections.synchronizedList(new ArrayList<ComponentModel>()));
-    }
-
-    public void addComponentToProject(final String projectName, final ExternalId externalId) throws IOException, URISyntaxException {
-        final List<ComponentModel> components = inspectorCache.get(projectName);
-        if (components != null && hubPreferencesService.canEstablishHubConnection()) {
-            try {
-                final ComponentModel newComponent = hubComponentLookupService.lookupComponent(externalId);
-                components.add(newComponent);
-                components.sort(new ComponentModelVulnerabilityFirstComparator());
-                inspectorCache.put(projectName, components);
-                componentInspectorViewService.resetDisplay();
-            } catch (final IntegrationException e) {
-                log.warn(String.format("Could not add component %s to project %s.", externalId.createExternalId(), projectName), e);
+        inspectedExternalIds.put(projectName, ConcurrentHashMap.newKeySet());
+        if (provisionalProjects.remove(projectName) && inspectorCache.containsKey(projectName)) {
+            // Keep showing the restored components while they are looked up
+            return null;
+        }
+        final SortedComponentSet previousModels = inspectorCache.put(projectName, new SortedComponentSet());
+        removeUsages(projectName, previousModels);
+        return previousModels == null ? null : previousModels.snapshot().getComponentList();
+    }
+
+    public boolean isProjectInitialized(final String projectName) {
+        restoreProject(projectName);
+        return inspectedExternalIds.containsKey(projectName) && inspectorCache.containsKey(projectName);
+    }
+
+    public Set<ExternalId> getInspectedExternalIds(final String projectName) {
+        final Set<ExternalId> externalIds = inspectedExternalIds.get(projectName);
+        return externalIds == null ? Collections.emptySet() : Collections.unmodifiableSet(externalIds);
+    }
+
+    public void forgetInspectedComponents() {
+        // Projects inspected before this point are fully re-inspected the next time round
+        inspectedExternalIds.clear();
+        discardUnrestoredProjects();
+    }
+
+    public CompletableFuture<ComponentLookupResults> addComponentsToProjectAsync(final String projectName, final Collection<ExternalId> externalIds, final IProgressMonitor monitor,
+            final Consumer<ExternalId> lookupCompleted) {
+        final SortedComponentSet components = inspectorCache.get(projectName);
+        final Set<ExternalId> projectExternalIds = inspectedExternalIds.get(projectName);
+        if (components == null || projectExternalIds == null || !hubConnectionMonitorService.isConnected()) {
+            return CompletableFuture.completedFuture(new ComponentLookupResults(Collections.emptyMap(), Collections.emptyMap()));
+        }
+        final Set<ExternalId> newExternalIds = externalIds.stream().filter(projectExternalIds::add).collect(Collectors.toSet());
+        // Components already in the project are looked up too: cache hits cost nothing, and stale entries start a refresh
+        return hubComponentLookupService.lookupComponentsAsync(externalIds, monitor, (externalId, newComponent) -> {
+            if (newComponent.isPresent()) {
+                addLookedUpComponent(projectName, components, projectExternalIds, newComponent.get());
+            } else if (newExternalIds.contains(externalId)) {
+                // Forget the component so the next inspection tries it again
+                projectExternalIds.remove(externalId);
+            }
+            lookupCompleted.accept(externalId);
+        }).thenApply(results -> {
+            results.getFailures().forEach((externalId, error) -> {
+                if (!(error instanceof OperationCanceledException)) {
+                    log.warn(String.format("Could not add component %s to project %s.", externalId.createExternalId(), projectName), error);
+                }
+            });
+            return results;
+        });
+    }
+
+    private void addLookedUpComponent(final String projectName, final SortedComponentSet components, final Set<ExternalId> externalIds, final ComponentModel newComponent) {
+        // The component may have left the classpath while it was being looked up
+        if (externalIds.contains(newComponent.getExternalId())) {
+            if (components.add(addUsage(projectName, newComponent))) {
+                componentInspectorViewService.refreshProjectDisplay(projectName);
+            }
+        }
+    }
+
+    private ComponentModel addUsage(final String projectName, final ComponentModel component) {
+        final ComponentModel sharedComponent = workspaceComponentIndex.addUsage(projectName, component);
+        if (sharedComponent == component) {
+            // Other projects may still show the model this one replaced
+            for (final String otherProjectName : workspaceComponentIndex.getProjectsUsing(component.getExternalId())) {
+                final SortedComponentSet models = inspectorCache.get(otherProjectName);
+                if (!otherProjectName.equals(projectName) && models != null && models.replace(component)) {
+                    componentInspectorViewService.refreshProjectDisplay(otherProjectName);
+                }
+            }
+        }
+        return sharedComponent;
+    }
+
+    public void replaceComponent(final ComponentModel refreshedComponent) {
+        for (final String projectName : workspaceComponentIndex.replaceComponent(refreshedComponent)) {
+            final SortedComponentSet models = inspectorCache.get(projectName);
+            if (models != null && models.replace(refreshedComponent)) {
+                componentInspectorViewService.refreshProjectDisplay(projectName);
             }
         }
     }
 
+    public Set<String> getProjectsUsingComponent(final ExternalId externalId) {
+        return workspaceComponentIndex.getProjectsUsing(externalId);
+    }
+
     public List<ComponentModel> getProjectComponents(final String projectName) {
-        final List<ComponentModel> models = inspectorCache.get(projectName);
-        return models;
+        final Optional<ComponentSnapshot> snapshot = getProjectSnapshot(projectName);
+        return snapshot.isPresent() ? snapshot.get().getComponentList() : null;
+    }
+
+    public Optional<ComponentSnapshot> getProjectSnapshot(final String projectName) {
+        restoreProject(projectName);
+        final SortedComponentSet models = inspectorCache.get(projectName);
+        return models == null ? Optional.empty() : Optional.of(models.snapshot());
     }
 
     public void removeProject(final String projectName) {
-        inspectorCache.remove(projectName);
+        takeUnrestoredProject(projectName);
+        provisionalProjects.remove(projectName);
+        inspectedExternalIds.remove(projectName);
+        removeUsages(projectName, inspectorCache.remove(projectName));
         componentInspectorViewService.clearProjectDisplay(projectName);
     }
 
     public void removeComponentFromProject(final String projectName, final ExternalId externalId) {
-        final List<ComponentModel> models = inspectorCache.get(projectName);
+        final Set<ExternalId> externalIds = inspectedExternalIds.get(projectName);
+        if (externalIds != null) {
+            externalIds.remove(externalId);
+        }
+        final SortedComponentSet models = inspectorCache.get(projectName);
         if (models != null) {
-            for (final Iterator<ComponentModel> iterator = models.iterator(); iterator.hasNext();) {
-                final ComponentModel model = iterator.next();
-                if (model.getExternalId().equals(externalId)) {
-                    iterator.remove();
-                }
+            if (models.remove(externalId)) {
+                workspaceComponentIndex.removeUsage(projectName, externalId);
+                componentInspectorViewService.refreshProjectDisplay(projectName);
             }
-            inspectorCache.put(projectName, models);
-            componentInspectorViewService.resetDisplay();
         }
     }
 
     public boolean containsComponentsFromProject(final String projectName) {
+        restoreProject(projectName);
         return inspectorCache.containsKey(projectName);
     }
 
     public void renameProject(final String oldName, final String newName) {
-        final List<ComponentModel> models = inspectorCache.get(oldName);
-        inspectorCache.put(newName, models);
-        inspectorCache.remove(oldName);
+        restoreProject(oldName);
+        final SortedComponentSet models = inspectorCache.remove(oldName);
+        if (models != null) {
+            inspectorCache.put(newName, models);
+            for (final ComponentModel model : models.snapshot().getComponents()) {
+                workspaceComponentIndex.removeUsage(oldName, model.getExternalId());
+                addUsage(newName, model);
+            }
+        }
+        final Set<ExternalId> externalIds = inspectedExternalIds.remove(oldName);
+        if (externalIds != null) {
+            inspectedExternalIds.put(newName, externalIds);
+        }
+        if (provisionalProjects.remove(oldName)) {
+            provisionalProjects.add(newName);
+        }
+    }
+
+    private void removeUsages(final String projectName, final SortedComponentSet models) {
+        if (models != null) {
+            models.snapshot().getComponentList().forEach(model -> workspaceComponentIndex.removeUsage(projectName, model.getExternalId()));
+        }
     }
 
 }
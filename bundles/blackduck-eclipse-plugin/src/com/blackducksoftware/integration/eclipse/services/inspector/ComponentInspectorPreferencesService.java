@@ -27,12 +27,14 @@ import com.blackducksoftware.integration.eclipse.services.BlackDuckPreferencesSe
 
 public class ComponentInspectorPreferencesService {
     public static final String INSPECT_BY_DEFAULT = "inspectNewProjectsByDefault";
+    public static final String MAX_CONCURRENT_INSPECTIONS = "maxConcurrentInspections";
 
     private final BlackDuckPreferencesService blackDuckPreferencesService;
 
     public ComponentInspectorPreferencesService(final BlackDuckPreferencesService blackDuckPreferencesService){
         this.blackDuckPreferencesService = blackDuckPreferencesService;
         blackDuckPreferencesService.setPreferenceDefault(INSPECT_BY_DEFAULT, "true");
+        blackDuckPreferencesService.setPreferenceDefault(MAX_CONCURRENT_INSPECTIONS, Integer.toString(Runtime.getRuntime().availableProcessors()));
     }
 
     public boolean isProjectMarkedForInspection(final String projectName) {
@@ -52,6 +54,14 @@ public class ComponentInspectorPreferencesService {
         return blackDuckPreferencesService.getPreference(INSPECT_BY_DEFAULT);
     }
 
+    public int getMaxConcurrentInspections() {
+        try {
+            return Integer.parseInt(blackDuckPreferencesService.getPreference(MAX_CONCURRENT_INSPECTIONS));
+        } catch (final NumberFormatException e) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+    }
+
     public void markProjectForInspection(final String projectName) {
         blackDuckPreferencesService.savePreference(projectName, "true");
     }
@@ -73,6 +83,10 @@ public class ComponentInspectorPreferencesService {
         blackDuckPreferencesService.savePreference(INSPECT_BY_DEFAULT, value);
     }
 
+    public void saveMaxConcurrentInspections(final String value) {
+        blackDuckPreferencesService.savePreference(MAX_CONCURRENT_INSPECTIONS, value);
+    }
+
     public void setProjectMarkedForInspection(final String projectName, final String value){
         blackDuckPreferencesService.savePreference(projectName, value);
     }
@@ -23,18 +23,26 @@
  */
 package com.blackducksoftware.integration.eclipse.services.inspector;
 
-import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.File;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentLookupResults;
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
 import com.blackducksoftware.integration.eclipse.internal.InspectionJob;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.ComponentSnapshot;
 import com.blackducksoftware.integration.eclipse.internal.datastructures.InspectionJobQueue;
 import com.blackducksoftware.integration.eclipse.internal.listeners.InspectionJobChangeListener;
 import com.blackducksoftware.integration.eclipse.services.ComponentInformationService;
 import com.blackducksoftware.integration.eclipse.services.ProjectInformationService;
 import com.blackducksoftware.integration.eclipse.services.WorkspaceInformationService;
-import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
 
 public class ComponentInspectorService {
@@ -43,30 +51,51 @@ public class ComponentInspectorService {
     private final ComponentInspectorViewService inspectorViewService;
     private final ComponentInspectorPreferencesService inspectorPreferencesService;
     private final WorkspaceInformationService workspaceInformationService;
-    private final HubPreferencesService hubPreferencesService;
+    private final HubConnectionMonitorService hubConnectionMonitorService;
 
-    public ComponentInspectorService(final ComponentInspectorViewService inspectorViewService, final HubPreferencesService hubPreferencesService, final ComponentInspectorPreferencesService componentInspectorPreferencesService,
+    public ComponentInspectorService(final ComponentInspectorViewService inspectorViewService, final HubConnectionMonitorService hubConnectionMonitorService, final ComponentInspectorPreferencesService componentInspectorPreferencesService,
             final WorkspaceInformationService workspaceInformationService, final ComponentInspectorCacheService componentInspectorCacheService) {
         final InspectionJobChangeListener inspectionJobChangeListener = new InspectionJobChangeListener(inspectorViewService);
         this.inspectorViewService = inspectorViewService;
-        this.hubPreferencesService = hubPreferencesService;
+        this.hubConnectionMonitorService = hubConnectionMonitorService;
         this.inspectorPreferencesService = componentInspectorPreferencesService;
         this.workspaceInformationService = workspaceInformationService;
         this.inspectorCacheService = componentInspectorCacheService;
-        this.inspectionQueue = new InspectionJobQueue(inspectionJobChangeListener);
+        this.inspectionQueue = new InspectionJobQueue(inspectionJobChangeListener, componentInspectorPreferencesService::getMaxConcurrentInspections);
     }
 
     public void initializeProjectComponents(final String projectName) {
         inspectorCacheService.initializeProject(projectName);
     }
 
-    public boolean addComponentToProject(final String projectName, final ExternalId externalId) {
-        try {
-            inspectorCacheService.addComponentToProject(projectName, externalId);
-        } catch (IOException | URISyntaxException e) {
-            return false;
-        }
-        return true;
+    public void attachInventorySnapshot(final File snapshotFile) {
+        inspectorCacheService.attachInventorySnapshot(snapshotFile);
+    }
+
+    public void saveInventorySnapshot() {
+        inspectorCacheService.saveInventorySnapshot();
+    }
+
+    public boolean isProjectInitialized(final String projectName) {
+        return inspectorCacheService.isProjectInitialized(projectName);
+    }
+
+    public Set<ExternalId> getInspectedExternalIds(final String projectName) {
+        return inspectorCacheService.getInspectedExternalIds(projectName);
+    }
+
+    public void forgetInspectedComponents() {
+        inspectorCacheService.forgetInspectedComponents();
+    }
+
+    public CompletableFuture<ComponentLookupResults> addComponentsToProjectAsync(final String projectName, final Collection<ExternalId> externalIds, final IProgressMonitor monitor) {
+        return addComponentsToProjectAsync(projectName, externalIds, monitor, externalId -> {
+        });
+    }
+
+    public CompletableFuture<ComponentLookupResults> addComponentsToProjectAsync(final String projectName, final Collection<ExternalId> externalIds, final IProgressMonitor monitor,
+            final Consumer<ExternalId> lookupCompleted) {
+        return inspectorCacheService.addComponentsToProjectAsync(projectName, externalIds, monitor, lookupCompleted);
     }
 
     public void removeComponentFromProject(final String projectName, final ExternalId externalId) {
@@ -75,16 +104,20 @@ public class ComponentInspectorService {
 
     public boolean inspectProject(final String projectName) {
         boolean success = false;
-        if (hubPreferencesService.canEstablishHubConnection() && inspectorPreferencesService.isProjectMarkedForInspection(projectName)) {
+        if (hubConnectionMonitorService.isConnected() && inspectorPreferencesService.isProjectMarkedForInspection(projectName)) {
             final ProjectInformationService projectInformationService = workspaceInformationService.getProjectInformationService();
             final ComponentInformationService componentInformationService = projectInformationService.getComponentInformationService();
-            final InspectionJob inspection = new InspectionJob(projectName, this, inspectorPreferencesService, hubPreferencesService, componentInformationService, projectInformationService);
+            final InspectionJob inspection = new InspectionJob(projectName, this, inspectorPreferencesService, hubConnectionMonitorService, componentInformationService, projectInformationService);
             inspectionQueue.enqueueInspection(inspection);
             success = true;
         }
         return success;
     }
 
+    public void prioritizeInspection(final String projectName) {
+        inspectionQueue.prioritizeInspection(projectName);
+    }
+
     public void inspectAllProjects() {
         workspaceInformationService.getAllSupportedProjectNames().forEach(projectName -> inspectProject(projectName));
     }
@@ -106,8 +139,20 @@ public class ComponentInspectorService {
         inspectorViewService.clearProjectDisplay(projectName);
     }
 
+    public void replaceComponent(final ComponentModel refreshedComponent) {
+        inspectorCacheService.replaceComponent(refreshedComponent);
+    }
+
+    public Set<String> getProjectsUsingComponent(final ExternalId externalId) {
+        return inspectorCacheService.getProjectsUsingComponent(externalId);
+    }
+
     public List<ComponentModel> getProjectComponents(final String projectName) {
         return inspectorCacheService.getProjectComponents(projectName);
     }
 
+    public Optional<ComponentSnapshot> getProjectSnapshot(final String projectName) {
+        return inspectorCacheService.getProjectSnapshot(projectName);
+    }
+
 }
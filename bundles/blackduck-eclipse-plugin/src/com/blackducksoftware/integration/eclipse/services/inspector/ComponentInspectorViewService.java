@@ -30,19 +30,25 @@ import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.browser.IWebBrowser;
 
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.DisplayRefreshCoalescer;
 import com.blackducksoftware.integration.eclipse.internal.OpenComponentInHubJob;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionService;
 import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
 import com.blackducksoftware.integration.eclipse.views.ComponentInspectorView;
 
 public class ComponentInspectorViewService {
+    private static final int DISPLAY_REFRESH_INTERVAL = 250;
+
     private Optional<ComponentInspectorView> componentInspectorView;
     private final HubConnectionService hubConnectionService;
     private final HubPreferencesService hubPreferencesService;
+    private final DisplayRefreshCoalescer displayRefreshCoalescer;
 
     public ComponentInspectorViewService(final HubConnectionService hubConnectionService, final HubPreferencesService hubPreferencesService) {
         this.hubConnectionService = hubConnectionService;
         this.hubPreferencesService = hubPreferencesService;
+        this.componentInspectorView = Optional.empty();
+        this.displayRefreshCoalescer = new DisplayRefreshCoalescer(DISPLAY_REFRESH_INTERVAL, this::resetDisplay);
     }
 
     public void registerComponentInspectorView(final ComponentInspectorView componentInspectorView) {
@@ -78,6 +84,15 @@ public class ComponentInspectorViewService {
         }
     }
 
+    // Called from worker threads whenever a project's components change; only the displayed project triggers a refresh
+    public void refreshProjectDisplay(final String projectName) {
+        if (componentInspectorView.isPresent()) {
+            if (componentInspectorView.get().getLastSelectedProjectName().equals(projectName)) {
+                displayRefreshCoalescer.requestRefresh();
+            }
+        }
+    }
+
     public void refreshProjectStatus(final String projectName) {
         if (componentInspectorView.isPresent()) {
             if (componentInspectorView.get().getLastSelectedProjectName().equals(projectName)) {
@@ -0,0 +1,79 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.views;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.resource.ColorDescriptor;
+import org.eclipse.jface.resource.FontDescriptor;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.resource.LocalResourceManager;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.RGB;
+
+import com.blackducksoftware.integration.eclipse.BlackDuckEclipseActivator;
+
+/**
+ * The colors, fonts and images of one Component Inspector view, shared by its cells. Each resource is created once and
+ * released when the view is disposed. Must only be used from the UI thread.
+ */
+public class ComponentInspectorResources {
+    private final LocalResourceManager resourceManager = new LocalResourceManager(JFaceResources.getResources());
+    private final Map<String, Color> colors = new HashMap<>();
+    private final Map<FontDescriptor, Font> fonts = new HashMap<>();
+    private final Map<String, Image> images = new HashMap<>();
+
+    // Takes colors in the #rrggbb form
+    public Color getColor(final String hexString) {
+        return colors.computeIfAbsent(hexString, key -> {
+            final int rgb = Integer.decode(key);
+            return resourceManager.createColor(ColorDescriptor.createFrom(new RGB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF)));
+        });
+    }
+
+    public Font getFont(final FontDescriptor fontDescriptor) {
+        return fonts.computeIfAbsent(fontDescriptor, resourceManager::createFont);
+    }
+
+    // Takes a path within the plugin, and returns null if there is no image at that path
+    public Image getImage(final String imagePath) {
+        if (!images.containsKey(imagePath)) {
+            final ImageDescriptor descriptor = BlackDuckEclipseActivator.imageDescriptorFromPlugin(BlackDuckEclipseActivator.PLUGIN_ID, imagePath);
+            images.put(imagePath, descriptor == null ? null : resourceManager.createImage(descriptor));
+        }
+        return images.get(imagePath);
+    }
+
+    public void dispose() {
+        colors.clear();
+        fonts.clear();
+        images.clear();
+        resourceManager.dispose();
+    }
+
+}
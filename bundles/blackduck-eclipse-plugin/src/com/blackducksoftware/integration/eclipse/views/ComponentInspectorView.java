@@ -23,13 +23,11 @@
  */
 package com.blackducksoftware.integration.eclipse.views;
 
-import java.util.List;
 import java.util.Optional;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.dialogs.ErrorDialog;
-import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.swt.SWT;
@@ -51,6 +49,7 @@ import org.eclipse.ui.part.ViewPart;
 
 import com.blackducksoftware.integration.eclipse.BlackDuckEclipseActivator;
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.ComponentSnapshot;
 import com.blackducksoftware.integration.eclipse.internal.listeners.EditorSelectionListener;
 import com.blackducksoftware.integration.eclipse.internal.listeners.TableDoubleClickListener;
 import com.blackducksoftware.integration.eclipse.services.BlackDuckEclipseServicesFactory;
@@ -72,6 +71,8 @@ public class ComponentInspectorView extends ViewPart {
     public static final String DISCONNECT_PNG_PATH = "resources/icons/disconnect_co.gif";
     public static final String WAITING_PNG_PATH = "resources/icons/waiting.gif";
     public static final String WARNING_PNG_PATH = "resources/icons/warning.gif";
+    private static final long NO_SNAPSHOT_VERSION = -1;
+    private static final long NOT_DISPLAYED_VERSION = -2;
 
     private final BlackDuckEclipseServicesFactory blackDuckEclipseServicesFactory;
     private final ComponentInspectorViewService componentInspectorViewService;
@@ -80,9 +81,14 @@ public class ComponentInspectorView extends ViewPart {
 
     private ComponentTableStatusCLabel tableStatus;
     private String lastSelectedProjectName = "";
+    // What the table currently shows, so that refreshes can be skipped when the project's components did not change
+    private String displayedProjectName = "";
+    private long displayedVersion = NOT_DISPLAYED_VERSION;
     private TableViewer tableViewer;
     private Text filterBox;
 
+    // Created with the view and released with it, so nothing outlives the view's widgets
+    private final ComponentInspectorResources resources = new ComponentInspectorResources();
     private ComponentTableContentProvider contentProvider;
     private EditorSelectionListener editorSelectionListener;
 
@@ -102,6 +108,7 @@ public class ComponentInspectorView extends ViewPart {
         parentLayout.marginHeight = 0;
         parent.setLayout(parentLayout);
         lastSelectedProjectName = getProjectNameFromActiveContext();
+        componentInspectorService.prioritizeInspection(lastSelectedProjectName);
         this.setUpHeaderComposite(parent);
         final ComponentModelFilter componentFilter = new ComponentModelFilter(filterBox);
         tableViewer = new TableViewer(parent, (SWT.VIRTUAL | SWT.SINGLE | SWT.FULL_SELECTION | SWT.H_SCROLL | SWT.V_SCROLL));
@@ -117,20 +124,21 @@ public class ComponentInspectorView extends ViewPart {
         this.getSite().getPage().addSelectionListener(editorSelectionListener);
         this.createColumns();
         this.refreshInput();
-        tableStatus = new ComponentTableStatusCLabel(parent, SWT.LEFT, tableViewer, componentInspectorService, blackDuckEclipseServicesFactory.getComponentInspectorPreferencesService(), blackDuckEclipseServicesFactory.getHubPreferencesService(), blackDuckEclipseServicesFactory.getProjectInformationService());
+        tableStatus = new ComponentTableStatusCLabel(parent, SWT.LEFT, tableViewer, componentInspectorService, blackDuckEclipseServicesFactory.getComponentInspectorPreferencesService(), blackDuckEclipseServicesFactory.getHubConnectionMonitorService(), blackDuckEclipseServicesFactory.getProjectInformationService(), resources);
         tableStatus.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
     }
 
     @Override
     public Image getTitleImage() {
-        final ImageDescriptor descriptor = BlackDuckEclipseActivator.imageDescriptorFromPlugin(BlackDuckEclipseActivator.PLUGIN_ID, DUCKY_PNG_PATH);
-        return descriptor == null ? null : descriptor.createImage();
+        return resources.getImage(DUCKY_PNG_PATH);
     }
 
     @Override
     public void dispose() {
         super.dispose();
         getSite().getPage().removeSelectionListener(editorSelectionListener);
+        componentInspectorViewService.disposeComponentInspectorView();
+        resources.dispose();
     }
 
     @Override
@@ -146,8 +154,7 @@ public class ComponentInspectorView extends ViewPart {
         Display.getDefault().syncExec(new Runnable() {
             @Override
             public void run() {
-                if (!tableViewer.getTable().isDisposed()) {
-                    setTableInput(lastSelectedProjectName);
+                if (!tableViewer.getTable().isDisposed() && setTableInput(lastSelectedProjectName)) {
                     tableViewer.refresh();
                 }
             }
@@ -156,6 +163,7 @@ public class ComponentInspectorView extends ViewPart {
 
     public void setLastSelectedProjectName(final String projectName) {
         lastSelectedProjectName = projectName;
+        componentInspectorService.prioritizeInspection(projectName);
         this.setTableInput(projectName);
         this.refreshStatus();
     }
@@ -195,22 +203,26 @@ public class ComponentInspectorView extends ViewPart {
         return projectName;
     }
 
-    private void setTableInput(final String projectName) {
-        ComponentModel[] results = new ComponentModel[] {};
-        final List<ComponentModel> componentModels = componentInspectorService.getProjectComponents(projectName);
-        if (componentModels != null) {
-            results = componentModels.toArray(new ComponentModel[componentModels.size()]);
+    private boolean setTableInput(final String projectName) {
+        final Optional<ComponentSnapshot> snapshot = componentInspectorService.getProjectSnapshot(projectName);
+        final long version = snapshot.isPresent() ? snapshot.get().getVersion() : NO_SNAPSHOT_VERSION;
+        if (projectName.equals(displayedProjectName) && version == displayedVersion) {
+            return false;
         }
+        final ComponentModel[] results = snapshot.isPresent() ? snapshot.get().getComponents() : new ComponentModel[] {};
         tableViewer.setItemCount(results.length);
         tableViewer.setInput(results);
+        displayedProjectName = projectName;
+        displayedVersion = version;
+        return true;
     }
 
     private void createColumns() {
-        final NameColumnLabelProvider nameColumnLabelProvider = new NameColumnLabelProvider();
+        final NameColumnLabelProvider nameColumnLabelProvider = new NameColumnLabelProvider(contentProvider, resources);
         nameColumnLabelProvider.addColumnTo(tableViewer);
-        final LicenseColumnLabelProvider licenseColumnLabelProvider = new LicenseColumnLabelProvider(300, SWT.LEFT);
+        final LicenseColumnLabelProvider licenseColumnLabelProvider = new LicenseColumnLabelProvider(300, SWT.LEFT, contentProvider, resources);
         licenseColumnLabelProvider.addColumnTo(tableViewer);
-        final VulnerabilityCountColumnLabelProvider vulnerabilityCountColumnLabelProvider = new VulnerabilityCountColumnLabelProvider(150, SWT.CENTER, contentProvider);
+        final VulnerabilityCountColumnLabelProvider vulnerabilityCountColumnLabelProvider = new VulnerabilityCountColumnLabelProvider(150, SWT.CENTER, contentProvider, resources);
         vulnerabilityCountColumnLabelProvider.addColumnTo(tableViewer);
     }
 
@@ -243,6 +255,8 @@ public class ComponentInspectorView extends ViewPart {
         filterBox.addModifyListener(new ModifyListener() {
             @Override
             public void modifyText(final ModifyEvent event) {
+                // The filter applies when the input is set, so the same components have to be set again
+                displayedVersion = NOT_DISPLAYED_VERSION;
                 refreshInput();
             }
         });
@@ -0,0 +1,144 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.views.providers;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+import com.blackducksoftware.integration.hub.service.model.ComplexLicenseParser;
+
+/**
+ * Everything the component table shows for one component, worked out once so that painting a cell only reads fields.
+ */
+public class ComponentDisplayRow {
+    private static final int SEVERITY_LABEL_WIDTH = 5;
+    private static final int MAX_DISPLAYED_COUNT = 999;
+    private static final String NO_VULNERABILITIES_LABEL = " 0 ";
+
+    private final ComponentModel component;
+    private final String nameText;
+    private final int versionStart;
+    private final int versionLength;
+    private final String licenseText;
+    private final String vulnerabilityText;
+    private final int[] severityStarts;
+    private final int[] severityLengths;
+    private final boolean[] severityHasVulnerabilities;
+    private final String vulnerabilityToolTip;
+
+    public ComponentDisplayRow(final ComponentModel component) {
+        this.component = component;
+        final ExternalId externalId = component.getExternalId();
+        this.nameText = String.format("%s  %s ", externalId.name, externalId.version);
+        this.versionStart = externalId.name.length() + 1;
+        this.versionLength = externalId.version.length() + 2;
+        this.licenseText = component.getLicenseIsKnown() ? new ComplexLicenseParser(component.getLicense()).parse() : "";
+
+        final int[] vulnerabilityCount = component.getVulnerabilityCount();
+        final int severityCount = component.getComponentIsKnown() ? vulnerabilityCount.length : 0;
+        final String[] severityLabels = new String[severityCount];
+        final StringBuilder vulnerabilityTextBuilder = new StringBuilder();
+        for (int i = 0; i < severityCount; i++) {
+            severityLabels[i] = " " + (vulnerabilityCount[i] <= MAX_DISPLAYED_COUNT ? Integer.toString(vulnerabilityCount[i]) : MAX_DISPLAYED_COUNT + "+") + " ";
+            if (i > 0) {
+                vulnerabilityTextBuilder.append(' ');
+            }
+            vulnerabilityTextBuilder.append(String.format("%-" + SEVERITY_LABEL_WIDTH + "s", StringUtils.center(severityLabels[i], SEVERITY_LABEL_WIDTH)));
+        }
+        this.vulnerabilityText = vulnerabilityTextBuilder.toString();
+        this.severityStarts = new int[severityCount];
+        this.severityLengths = new int[severityCount];
+        this.severityHasVulnerabilities = new boolean[severityCount];
+        int lastLabelEnd = 0;
+        for (int i = 0; i < severityCount; i++) {
+            severityStarts[i] = vulnerabilityText.indexOf(severityLabels[i], lastLabelEnd);
+            severityLengths[i] = severityLabels[i].length();
+            severityHasVulnerabilities[i] = !severityLabels[i].equals(NO_VULNERABILITIES_LABEL);
+            lastLabelEnd = severityStarts[i] + severityLengths[i];
+        }
+        this.vulnerabilityToolTip = createVulnerabilityToolTip(severityCount == 4 ? vulnerabilityCount : null);
+    }
+
+    // Only the premium count, the fourth severity, is known without being identified
+    private String createVulnerabilityToolTip(final int[] vulnerabilityCount) {
+        if (vulnerabilityCount == null) {
+            return null;
+        }
+        int totalVulnerabilities = 0;
+        for (final int count : vulnerabilityCount) {
+            totalVulnerabilities += count;
+        }
+        final int identifiedVulnerabilities = totalVulnerabilities - vulnerabilityCount[3];
+        if (totalVulnerabilities > identifiedVulnerabilities) {
+            return identifiedVulnerabilities + " out of " + totalVulnerabilities + " detected vulnerabilities identified. Connect to your Hub instance for better results.";
+        }
+        return null;
+    }
+
+    public ComponentModel getComponent() {
+        return component;
+    }
+
+    public String getNameText() {
+        return nameText;
+    }
+
+    public int getVersionStart() {
+        return versionStart;
+    }
+
+    public int getVersionLength() {
+        return versionLength;
+    }
+
+    public String getLicenseText() {
+        return licenseText;
+    }
+
+    public String getVulnerabilityText() {
+        return vulnerabilityText;
+    }
+
+    public int getSeverityCount() {
+        return severityStarts.length;
+    }
+
+    public int getSeverityStart(final int severity) {
+        return severityStarts[severity];
+    }
+
+    public int getSeverityLength(final int severity) {
+        return severityLengths[severity];
+    }
+
+    public boolean getSeverityHasVulnerabilities(final int severity) {
+        return severityHasVulnerabilities[severity];
+    }
+
+    public String getVulnerabilityToolTip() {
+        return vulnerabilityToolTip;
+    }
+
+}
@@ -29,12 +29,11 @@ import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TableViewerColumn;
 import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.TableColumn;
 
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.views.ComponentInspectorResources;
 
 public abstract class ComponentTableColumnLabelProvider extends StyledCellLabelProvider {
 	public final int alignment;
@@ -43,13 +42,27 @@ public abstract class ComponentTableColumnLabelProvider extends StyledCellLabelP
 
 	public final static String VALUE_UNKNOWN = "UNKNOWN";
 
-	public ComponentTableColumnLabelProvider() {
-		this(200, SWT.LEFT);
+	private final ComponentTableContentProvider contentProvider;
+
+	private final ComponentInspectorResources resources;
+
+	public ComponentTableColumnLabelProvider(final ComponentTableContentProvider contentProvider, final ComponentInspectorResources resources) {
+		this(200, SWT.LEFT, contentProvider, resources);
 	}
 
-	public ComponentTableColumnLabelProvider(final int width, final int alignment) {
+	public ComponentTableColumnLabelProvider(final int width, final int alignment, final ComponentTableContentProvider contentProvider, final ComponentInspectorResources resources) {
 		this.alignment = alignment;
 		this.width = width;
+		this.contentProvider = contentProvider;
+		this.resources = resources;
+	}
+
+	public ComponentTableContentProvider getContentProvider() {
+		return contentProvider;
+	}
+
+	public ComponentDisplayRow getDisplayRow(final ComponentModel model) {
+		return contentProvider.getDisplayRow(model);
 	}
 
 	public abstract String getText(Object input);
@@ -60,9 +73,9 @@ public abstract class ComponentTableColumnLabelProvider extends StyledCellLabelP
 		return null;
 	}
 
-	public static Color decodeHex(final Display display, final String hexString) {
-		final java.awt.Color c = java.awt.Color.decode(hexString);
-		return new Color(display, c.getRed(), c.getGreen(), c.getBlue());
+	// Owned by the view, so cells never dispose a resource
+	public ComponentInspectorResources getResources() {
+		return resources;
 	}
 
 	public TableViewerColumn addColumnTo(final TableViewer viewer) {
@@ -90,6 +103,9 @@ public abstract class ComponentTableColumnLabelProvider extends StyledCellLabelP
 		if (input instanceof ComponentModel && !((ComponentModel) input).getComponentIsKnown()) {
 			return "Component is not present in the Black Duck KB";
 		}
+		if (input instanceof ComponentModel && ((ComponentModel) input).getComponentIsStale()) {
+			return "Showing cached Hub data while it is refreshed";
+		}
 		return null;
 	}
 
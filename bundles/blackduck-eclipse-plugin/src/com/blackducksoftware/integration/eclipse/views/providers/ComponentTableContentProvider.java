@@ -24,6 +24,8 @@
 package com.blackducksoftware.integration.eclipse.views.providers;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.eclipse.jface.viewers.ILazyContentProvider;
@@ -42,6 +44,9 @@ public class ComponentTableContentProvider implements ILazyContentProvider {
 
 	private ComponentModelFilter componentFilter = null;
 
+	// Rows are kept for as long as their component is part of the input, so unchanged components are not formatted again
+	private Map<ComponentModel, ComponentDisplayRow> displayRows = new IdentityHashMap<>();
+
 	public ComponentTableContentProvider(final TableViewer viewer) {
 		this.viewer = viewer;
 	}
@@ -52,12 +57,24 @@ public class ComponentTableContentProvider implements ILazyContentProvider {
 			this.parsedElements = new ComponentModel[] {};
 		} else {
 			this.parsedElements = (ComponentModel[]) newInput;
-			if (componentFilter != null) {
+			if (componentFilter != null && componentFilter.isActive()) {
 				Stream<ComponentModel> componentStream = Arrays.stream(parsedElements);
-				componentStream = componentStream.filter(model -> componentFilter.filter(model));
+				componentStream = componentStream.filter(model -> componentFilter.filter(getDisplayRow(model)));
 				this.parsedElements = componentStream.toArray(ComponentModel[]::new);
 			}
 		}
+		final Map<ComponentModel, ComponentDisplayRow> currentDisplayRows = new IdentityHashMap<>();
+		for (final ComponentModel model : parsedElements) {
+			final ComponentDisplayRow displayRow = displayRows.get(model);
+			if (displayRow != null) {
+				currentDisplayRows.put(model, displayRow);
+			}
+		}
+		this.displayRows = currentDisplayRows;
+	}
+
+	public ComponentDisplayRow getDisplayRow(final ComponentModel model) {
+		return displayRows.computeIfAbsent(model, ComponentDisplayRow::new);
 	}
 
 	public String getInputProject() {
@@ -24,24 +24,17 @@
 package com.blackducksoftware.integration.eclipse.views.providers;
 
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
-import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
-import com.blackducksoftware.integration.hub.service.model.ComplexLicenseParser;
+import com.blackducksoftware.integration.eclipse.views.ComponentInspectorResources;
 
 public class LicenseColumnLabelProvider extends ComponentTableColumnLabelProvider {
-    public LicenseColumnLabelProvider(final int width, final int style) {
-        super(width, style);
+    public LicenseColumnLabelProvider(final int width, final int style, final ComponentTableContentProvider contentProvider, final ComponentInspectorResources resources) {
+        super(width, style, contentProvider, resources);
     }
 
     @Override
     public String getText(final Object input) {
         final ComponentModel model = (ComponentModel) input;
-        if (!model.getLicenseIsKnown()) {
-            return "";
-        }
-        final ComplexLicenseView license = model.getLicense();
-        final ComplexLicenseParser licenseParser = new ComplexLicenseParser(license);
-        final String text = licenseParser.parse();
-        return text;
+        return getDisplayRow(model).getLicenseText();
     }
 
     @Override
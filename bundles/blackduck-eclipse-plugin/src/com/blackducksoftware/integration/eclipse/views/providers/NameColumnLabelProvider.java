@@ -24,26 +24,25 @@
 package com.blackducksoftware.integration.eclipse.views.providers;
 
 import org.eclipse.jface.resource.FontDescriptor;
-import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.widgets.Display;
 
-import com.blackducksoftware.integration.eclipse.BlackDuckEclipseActivator;
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.views.ComponentInspectorResources;
 import com.blackducksoftware.integration.eclipse.views.ComponentInspectorView;
-import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
 
 public class NameColumnLabelProvider extends ComponentTableColumnLabelProvider {
+    public NameColumnLabelProvider(final ComponentTableContentProvider contentProvider, final ComponentInspectorResources resources) {
+        super(contentProvider, resources);
+    }
+
     @Override
     public String getText(final Object input) {
         if (input instanceof ComponentModel) {
-            final ExternalId externalId = ((ComponentModel) input).getExternalId();
-            final String text = externalId.name + ":" + externalId.version;
-            return text;
+            return getDisplayRow((ComponentModel) input).getNameText();
         }
         if (input instanceof String) {
             return (String) input;
@@ -61,8 +60,7 @@ public class NameColumnLabelProvider extends ComponentTableColumnLabelProvider {
         if (input instanceof ComponentModel) {
             final ComponentModel validObject = ((ComponentModel) input);
             if (!validObject.getComponentIsKnown() || !validObject.getLicenseIsKnown()) {
-                final ImageDescriptor descriptor = BlackDuckEclipseActivator.imageDescriptorFromPlugin(BlackDuckEclipseActivator.PLUGIN_ID, ComponentInspectorView.WARNING_PNG_PATH);
-                return descriptor == null ? null : descriptor.createImage();
+                return getResources().getImage(ComponentInspectorView.WARNING_PNG_PATH);
             }
         }
         return null;
@@ -70,17 +68,19 @@ public class NameColumnLabelProvider extends ComponentTableColumnLabelProvider {
 
     @Override
     public void styleCell(final ViewerCell cell) {
-        final String[] compChunks = cell.getText().split(":");
-        cell.setText(String.format("%s  %s ", compChunks[0], compChunks[1]));
-        final Display display = Display.getCurrent();
-        final Color versionColor = decodeHex(display, "#285F8F");
-        final Color backgroundColor = decodeHex(display, "#fafafa");
-        final Color borderColor = decodeHex(display, "#dddddd");
-        final StyleRange versionStyle = new StyleRange(compChunks[0].length() + 1, compChunks[1].length() + 2, versionColor, backgroundColor);
+        if (!(cell.getElement() instanceof ComponentModel)) {
+            return;
+        }
+        final ComponentDisplayRow row = getDisplayRow((ComponentModel) cell.getElement());
+        final ComponentInspectorResources resources = getResources();
+        final Color versionColor = resources.getColor("#285F8F");
+        final Color backgroundColor = resources.getColor("#fafafa");
+        final Color borderColor = resources.getColor("#dddddd");
+        final StyleRange versionStyle = new StyleRange(row.getVersionStart(), row.getVersionLength(), versionColor, backgroundColor);
         versionStyle.borderStyle = SWT.BORDER_SOLID;
         versionStyle.borderColor = borderColor;
         final int versionHeight = (int) (cell.getFont().getFontData()[0].getHeight() * 0.85);
-        versionStyle.font = FontDescriptor.createFrom(cell.getFont()).setHeight(versionHeight).createFont(display);
+        versionStyle.font = resources.getFont(FontDescriptor.createFrom(cell.getFont()).setHeight(versionHeight));
         cell.setStyleRanges(new StyleRange[] { versionStyle });
     }
 
@@ -26,8 +26,8 @@ package com.blackducksoftware.integration.eclipse.views.widgets;
 import org.eclipse.swt.widgets.Text;
 
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.views.providers.ComponentDisplayRow;
 import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
-import com.blackducksoftware.integration.hub.service.model.ComplexLicenseParser;
 
 public class ComponentModelFilter {
     private final Text filterBox;
@@ -36,19 +36,21 @@ public class ComponentModelFilter {
         this.filterBox = filterBox;
     }
 
-    public boolean filter(final ComponentModel model) {
-        if (filterBox == null || filterBox.getText().length() == 0) {
+    public boolean isActive() {
+        return filterBox != null && filterBox.getText().length() != 0;
+    }
+
+    public boolean filter(final ComponentDisplayRow row) {
+        if (!isActive()) {
             return true;
         }
+        final ComponentModel model = row.getComponent();
         final ExternalId externalId = model.getExternalId();
         if (externalId.toString().contains(filterBox.getText())) {
             return true;
         }
-        if (model.getLicenseIsKnown()) {
-            final String license = new ComplexLicenseParser(model.getLicense()).parse();
-            if (license.contains(filterBox.getText())) {
-                return true;
-            }
+        if (model.getLicenseIsKnown() && row.getLicenseText().contains(filterBox.getText())) {
+            return true;
         }
         return false;
     }
@@ -23,19 +23,19 @@
  */
 package com.blackducksoftware.integration.eclipse.views.widgets;
 
-import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 
-import com.blackducksoftware.integration.eclipse.BlackDuckEclipseActivator;
 import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.HubConnectionStatus;
 import com.blackducksoftware.integration.eclipse.services.ProjectInformationService;
-import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorPreferencesService;
 import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorService;
+import com.blackducksoftware.integration.eclipse.views.ComponentInspectorResources;
 import com.blackducksoftware.integration.eclipse.views.ComponentInspectorView;
 
 public class ComponentTableStatusCLabel extends CLabel {
@@ -43,7 +43,8 @@ public class ComponentTableStatusCLabel extends CLabel {
     private final ProjectInformationService projectInformationService;
     private final TableViewer componentInspectorTableViewer;
     private final ComponentInspectorService componentInspectorService;
-    private final HubPreferencesService hubPreferencesService;
+    private final HubConnectionMonitorService hubConnectionMonitorService;
+    private final ComponentInspectorResources resources;
 
     public static final String NO_SELECTED_PROJECT_STATUS = "No open project selected";
     public static final String PROJECT_INSPECTION_RUNNING_STATUS = "Inspecting project...";
@@ -51,14 +52,16 @@ public class ComponentTableStatusCLabel extends CLabel {
     public static final String PROJECT_NOT_MARKED_FOR_INSPECTION_STATUS = "Inspection not activated for current project";
     public static final String PROJECT_NEEDS_INSPECTION_STATUS = "Project has not yet been inspected";
     public static final String CONNECTION_DISCONNECTED_STATUS = "Disconnected";
+    public static final String CONNECTION_AUTH_FAILED_STATUS = "Disconnected - the Hub rejected the stored credentials";
     public static final String HUB_CONNECTION_OK_STATUS = "Connected to Hub instance - double-click any component to open it in the Hub";
     public static final String HUB_CONNECTION_OK_NO_COMPONENTS_STATUS = "Connected to Hub instance - No components found.";
     public static final String PROJECT_NOT_SUPPORTED_STATUS = "Cannot inspect selected project - either it is not a Java project or no Maven or Gradle nature was detected";
 
-    public ComponentTableStatusCLabel(final Composite parent, final int style, final TableViewer componentInspectorTableViewer, final ComponentInspectorService componentInspectorService, final ComponentInspectorPreferencesService componentInspectorPreferencesService, final HubPreferencesService hubPreferencesService, final ProjectInformationService projectInformationService) {
+    public ComponentTableStatusCLabel(final Composite parent, final int style, final TableViewer componentInspectorTableViewer, final ComponentInspectorService componentInspectorService, final ComponentInspectorPreferencesService componentInspectorPreferencesService, final HubConnectionMonitorService hubConnectionMonitorService, final ProjectInformationService projectInformationService, final ComponentInspectorResources resources) {
         super(parent, style);
+        this.resources = resources;
         this.componentInspectorPreferencesService = componentInspectorPreferencesService;
-        this.hubPreferencesService = hubPreferencesService;
+        this.hubConnectionMonitorService = hubConnectionMonitorService;
         this.projectInformationService = projectInformationService;
         this.componentInspectorTableViewer = componentInspectorTableViewer;
         this.componentInspectorService = componentInspectorService;
@@ -69,7 +72,8 @@ public class ComponentTableStatusCLabel extends CLabel {
         if (componentInspectorTableViewer != null && componentInspectorTableViewer.getInput() != null) {
             final boolean tableViewerHasNoComponents = ((ComponentModel[]) componentInspectorTableViewer.getInput()).length == 0;
             final boolean projectShouldHaveBeenAutoInspected = componentInspectorService.getProjectComponents(projectName) == null;
-            final boolean canEstablishConnectionFromPreferences = hubPreferencesService.canEstablishHubConnection();
+            final HubConnectionStatus connectionStatus = hubConnectionMonitorService.getStatus();
+            final boolean canEstablishConnectionFromPreferences = connectionStatus == HubConnectionStatus.CONNECTED;
 
             String status = "";
 
@@ -79,6 +83,8 @@ public class ComponentTableStatusCLabel extends CLabel {
                 status = PROJECT_NOT_SUPPORTED_STATUS;
             } else if (!componentInspectorPreferencesService.isProjectMarkedForInspection(projectName)) {
                 status = PROJECT_NOT_MARKED_FOR_INSPECTION_STATUS;
+            } else if (connectionStatus == HubConnectionStatus.AUTH_FAILED) {
+                status = CONNECTION_AUTH_FAILED_STATUS;
             } else if (!canEstablishConnectionFromPreferences) {
                 status = CONNECTION_DISCONNECTED_STATUS;
             } else if (componentInspectorService.isProjectInspectionRunning(projectName)) {
@@ -105,26 +111,19 @@ public class ComponentTableStatusCLabel extends CLabel {
             public void run() {
                 if (!isDisposed() && !message.equals(getText())) {
                     if (message.equals(PROJECT_INSPECTION_RUNNING_STATUS) || message.equals(PROJECT_INSPECTION_SCHEDULED_STATUS)) {
-                        final ImageDescriptor imageDescriptor = createImageDescriptorFromImagePath(ComponentInspectorView.WAITING_PNG_PATH);
-                        setStatusMessageAndImage(imageDescriptor, message);
-                    } else if (message.equals(CONNECTION_DISCONNECTED_STATUS)) {
-                        final ImageDescriptor imageDescriptor = createImageDescriptorFromImagePath(ComponentInspectorView.DISCONNECT_PNG_PATH);
-                        setStatusMessageAndImage(imageDescriptor, message);
+                        setStatusMessageAndImage(ComponentInspectorView.WAITING_PNG_PATH, message);
+                    } else if (message.equals(CONNECTION_DISCONNECTED_STATUS) || message.equals(CONNECTION_AUTH_FAILED_STATUS)) {
+                        setStatusMessageAndImage(ComponentInspectorView.DISCONNECT_PNG_PATH, message);
                     } else if (message.equals(PROJECT_NEEDS_INSPECTION_STATUS)) {
-                        final ImageDescriptor imageDescriptor = createImageDescriptorFromImagePath(ComponentInspectorView.WARNING_PNG_PATH);
-                        setStatusMessageAndImage(imageDescriptor, message);
+                        setStatusMessageAndImage(ComponentInspectorView.WARNING_PNG_PATH, message);
                     } else {
                         setStatusMessageNoImage(message);
                     }
                 }
             }
 
-            private ImageDescriptor createImageDescriptorFromImagePath(final String imagePath) {
-                return BlackDuckEclipseActivator.imageDescriptorFromPlugin(BlackDuckEclipseActivator.PLUGIN_ID, imagePath);
-            }
-
-            private void setStatusMessageAndImage(final ImageDescriptor imageDescriptor, final String message) {
-                final Image image = imageDescriptor.createImage();
+            private void setStatusMessageAndImage(final String imagePath, final String message) {
+                final Image image = resources.getImage(imagePath);
                 setImage(image);
                 setText(message);
             }
@@ -0,0 +1,110 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentInterners;
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class ComponentInternersTest {
+    private static final int PROJECT_COUNT = 100;
+    private static final int DEPENDENCIES_PER_PROJECT = 300;
+    private static final int DISTINCT_COMPONENTS = 1000;
+    private static final int DISTINCT_LICENSES = 20;
+
+    @Test
+    public void testEqualValuesShareOneInstance() {
+        final ComponentModel first = new ComponentModel(createExternalId(1), createLicense(1), new int[] { 1, 2, 3 }, true);
+        final ComponentModel second = new ComponentModel(createExternalId(1), createLicense(1), new int[] { 1, 2, 3 }, true);
+        assertSame(first.getExternalId(), second.getExternalId());
+        assertSame(first.getLicense(), second.getLicense());
+        assertSame(ComponentInterners.internVulnerabilityCount(new int[] { 1, 2, 3 }), ComponentInterners.internVulnerabilityCount(new int[] { 1, 2, 3 }));
+    }
+
+    @Test
+    public void testSharedCountsCannotBeChangedThroughOneComponent() {
+        final ComponentModel first = new ComponentModel(createExternalId(2), createLicense(2), new int[] { 4, 5, 6 }, true);
+        final ComponentModel second = new ComponentModel(createExternalId(3), createLicense(2), new int[] { 4, 5, 6 }, true);
+        first.getVulnerabilityCount()[0] = 0;
+        assertArrayEquals(new int[] { 4, 5, 6 }, first.getVulnerabilityCount());
+        assertArrayEquals(new int[] { 4, 5, 6 }, second.getVulnerabilityCount());
+        assertEquals(4, second.getVulnerabilityCount(0));
+        assertEquals(3, second.getSeverityCount());
+    }
+
+    @Test
+    public void testSyntheticWorkspaceFootprint() {
+        // Every project gets its own freshly allocated values, as a lookup or a deserialized snapshot would produce
+        final List<ComponentModel> workspace = new ArrayList<>(PROJECT_COUNT * DEPENDENCIES_PER_PROJECT);
+        for (int project = 0; project < PROJECT_COUNT; project++) {
+            for (int dependency = 0; dependency < DEPENDENCIES_PER_PROJECT; dependency++) {
+                final int component = (project * 7 + dependency * 13) % DISTINCT_COMPONENTS;
+                final int[] vulnerabilityCount = new int[] { component % 3, component % 5, component % 7 };
+                workspace.add(new ComponentModel(createExternalId(component), createLicense(component % DISTINCT_LICENSES), vulnerabilityCount, true));
+            }
+        }
+        final Set<Object> externalIds = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Object> licenses = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Object> vulnerabilityCounts = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final ComponentModel component : workspace) {
+            externalIds.add(component.getExternalId());
+            licenses.add(component.getLicense());
+            vulnerabilityCounts.add(ComponentInterners.internVulnerabilityCount(component.getVulnerabilityCount()));
+        }
+
+        assertEquals(DISTINCT_COMPONENTS, externalIds.size());
+        assertEquals(DISTINCT_LICENSES, licenses.size());
+        assertEquals(3 * 5 * 7, vulnerabilityCounts.size());
+    }
+
+    private ExternalId createExternalId(final int component) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = "com.example.group" + component % 50;
+        externalId.name = "artifact" + component;
+        externalId.version = "1." + component % 10;
+        return externalId;
+    }
+
+    private ComplexLicenseView createLicense(final int license) {
+        final ComplexLicenseView complexLicense = new ComplexLicenseView();
+        complexLicense.name = "License " + license;
+        complexLicense.license = "https://hub.example.com/api/licenses/" + license;
+        return complexLicense;
+    }
+
+}
@@ -0,0 +1,120 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.blackducksoftware.integration.eclipse.internal.RepositoryPrefetchWatcher;
+
+public class RepositoryPrefetchWatcherTest {
+    private static final int MAX_WATCHED_DIRECTORIES = 8;
+    private static final long TIMEOUT_MILLISECONDS = 30000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File repository;
+    private final Set<Path> createdJars = ConcurrentHashMap.newKeySet();
+    private RepositoryPrefetchWatcher watcher;
+
+    @Before
+    public void createRepository() throws IOException {
+        repository = temporaryFolder.newFolder("repository");
+        // Far more directories near the root than the watcher may register, so the breadth first scan never gets deep
+        for (int i = 0; i < MAX_WATCHED_DIRECTORIES * 4; i++) {
+            Files.createDirectories(repository.toPath().resolve("filler" + i).resolve("artifact"));
+        }
+    }
+
+    @After
+    public void stopWatcher() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+
+    @Test
+    public void testNewVersionOfClasspathJarIsSeenBeyondTheLimit() throws Exception {
+        final Path usedJar = createJar("org/example/library/1.0/library-1.0.jar");
+        startWatcher(Collections.singletonList(usedJar.toFile()));
+        final Path newJar = createJar("org/example/library/1.1/library-1.1.jar");
+        assertTrue("The new version was not seen", waitForJar(newJar));
+    }
+
+    @Test
+    public void testNewVersionInGradleCacheIsSeenBeyondTheLimit() throws Exception {
+        final Path usedJar = createJar("files-2.1/org.example/library/1.0/0a1b2c/library-1.0.jar");
+        startWatcher(Collections.singletonList(usedJar.toFile()));
+        final Path newJar = createJar("files-2.1/org.example/library/1.1/3d4e5f/library-1.1.jar");
+        assertTrue("The new version was not seen", waitForJar(newJar));
+    }
+
+    @Test
+    public void testDirectoriesCreatedInWatchedDirectoriesAreWatched() throws Exception {
+        startWatcher(Collections.emptyList());
+        final Path newJar = createJar("com/example/tool/2.0/tool-2.0.jar");
+        assertTrue("The new jar was not seen", waitForJar(newJar));
+    }
+
+    private void startWatcher(final Collection<File> classpathFiles) throws InterruptedException {
+        watcher = new RepositoryPrefetchWatcher(() -> Collections.singletonList(repository), () -> classpathFiles, MAX_WATCHED_DIRECTORIES, createdJars::add);
+        watcher.start();
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLISECONDS;
+        while (watcher.getWatchedDirectoryCount() < MAX_WATCHED_DIRECTORIES && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(watcher.getWatchedDirectoryCount() <= MAX_WATCHED_DIRECTORIES + classpathFiles.size());
+    }
+
+    private Path createJar(final String relativePath) throws IOException {
+        final Path jar = repository.toPath().resolve(relativePath);
+        Files.createDirectories(jar.getParent());
+        return Files.write(jar, new byte[] { 0 });
+    }
+
+    private boolean waitForJar(final Path jar) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLISECONDS;
+        while (!createdJars.contains(jar) && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return createdJars.contains(jar);
+    }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.datastructures.GroupIdIgnoreList;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class GroupIdIgnoreListTest {
+
+    @Test
+    public void testWildcardMatchesTheGroupAndItsSubgroups() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList("com.ourcompany.*");
+        assertTrue(ignoreList.isIgnored(createExternalId("com.ourcompany")));
+        assertTrue(ignoreList.isIgnored(createExternalId("com.ourcompany.sub")));
+        assertTrue(ignoreList.isIgnored(createExternalId("com.ourcompany.sub.deeper")));
+        assertFalse(ignoreList.isIgnored(createExternalId("com.ourcompanyx")));
+        assertFalse(ignoreList.isIgnored(createExternalId("com.ourcompanyx.sub")));
+        assertFalse(ignoreList.isIgnored(createExternalId("com")));
+    }
+
+    @Test
+    public void testPatternWithoutWildcardMatchesExactly() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList("org.internal");
+        assertTrue(ignoreList.isIgnored(createExternalId("org.internal")));
+        assertFalse(ignoreList.isIgnored(createExternalId("org.internal.sub")));
+        assertFalse(ignoreList.isIgnored(createExternalId("org.internals")));
+    }
+
+    @Test
+    public void testWildcardInsideThePattern() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList("com.*.snapshots");
+        assertTrue(ignoreList.isIgnored(createExternalId("com.ourcompany.snapshots")));
+        assertFalse(ignoreList.isIgnored(createExternalId("com.ourcompany.releases")));
+    }
+
+    @Test
+    public void testPatternCharactersAreLiteral() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList("com.our+company");
+        assertTrue(ignoreList.isIgnored(createExternalId("com.our+company")));
+        assertFalse(ignoreList.isIgnored(createExternalId("comXourcompany")));
+    }
+
+    @Test
+    public void testCommaSeparatedListWithWhitespace() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList("  com.ourcompany.* ,org.internal,, \t net.partner.*  ");
+        assertTrue(ignoreList.isIgnored(createExternalId("com.ourcompany.sub")));
+        assertTrue(ignoreList.isIgnored(createExternalId("org.internal")));
+        assertTrue(ignoreList.isIgnored(createExternalId("net.partner")));
+        assertFalse(ignoreList.isIgnored(createExternalId("org.apache.commons")));
+    }
+
+    @Test
+    public void testEmptyPreferenceIgnoresNothing() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList("");
+        assertFalse(ignoreList.isIgnored(createExternalId("com.ourcompany")));
+        assertFalse(ignoreList.isIgnored(createExternalId("")));
+        assertFalse(new GroupIdIgnoreList(" , ").isIgnored(createExternalId("com.ourcompany")));
+    }
+
+    @Test
+    public void testNullPreferenceIgnoresNothing() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList(null);
+        assertEquals("", ignoreList.getPatternList());
+        assertFalse(ignoreList.isIgnored(createExternalId("com.ourcompany")));
+    }
+
+    @Test
+    public void testComponentWithoutGroupIsNotIgnored() {
+        final GroupIdIgnoreList ignoreList = new GroupIdIgnoreList("*");
+        assertFalse(ignoreList.isIgnored(createExternalId(null)));
+        assertTrue(ignoreList.isIgnored(createExternalId("com.ourcompany")));
+    }
+
+    private ExternalId createExternalId(final String group) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = group;
+        externalId.name = "artifact";
+        externalId.version = "1.0";
+        return externalId;
+    }
+
+}
@@ -0,0 +1,215 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.junit.After;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.InspectionJob;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.InspectionJobQueue;
+import com.blackducksoftware.integration.eclipse.internal.listeners.InspectionJobChangeListener;
+import com.blackducksoftware.integration.eclipse.services.inspector.ComponentInspectorViewService;
+
+public class InspectionJobQueueTest {
+    private static final long TIMEOUT_MILLISECONDS = 10000;
+    private static final long POLL_INTERVAL_MILLISECONDS = 5;
+
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private final AtomicInteger largestRunningCount = new AtomicInteger();
+    private final List<StubInspectionJob> inspections = new ArrayList<>();
+    private InspectionJobQueue queue;
+
+    @After
+    public void stopInspections() {
+        if (queue != null) {
+            queue.cancelAll();
+        }
+        inspections.forEach(inspection -> {
+            inspection.holdCancellation = false;
+            inspection.finish.countDown();
+        });
+    }
+
+    @Test
+    public void testRunningInspectionsStayWithinTheLimit() throws InterruptedException {
+        createQueue(2);
+        final StubInspectionJob first = enqueue("first");
+        final StubInspectionJob second = enqueue("second");
+        final StubInspectionJob third = enqueue("third");
+        final StubInspectionJob fourth = enqueue("fourth");
+        assertTrue(first.awaitStart());
+        assertTrue(second.awaitStart());
+        assertEquals(Arrays.asList("third", "fourth"), getScheduledProjectNames());
+        assertFalse(third.started.await(100, TimeUnit.MILLISECONDS));
+
+        first.finish.countDown();
+        assertTrue(third.awaitStart());
+        assertEquals(Arrays.asList("fourth"), getScheduledProjectNames());
+        second.finish.countDown();
+        third.finish.countDown();
+        assertTrue(fourth.awaitStart());
+        fourth.finish.countDown();
+        waitFor(() -> queue.getRunningInspections().isEmpty());
+        assertEquals(2, largestRunningCount.get());
+    }
+
+    @Test
+    public void testPrioritizedProjectMovesToTheFront() {
+        createQueue(1);
+        final StubInspectionJob background = enqueue("background");
+        assertTrue(background.awaitStart());
+        // Keep the preempted inspection running, so the queue can be looked at before it frees its slot
+        background.holdCancellation = true;
+        enqueue("second");
+        enqueue("third");
+        enqueue("priority");
+        queue.prioritizeInspection("priority");
+        assertEquals(Arrays.asList("priority", "second", "third"), getScheduledProjectNames());
+        assertTrue(queue.getInspectionIsRunning("background"));
+    }
+
+    @Test
+    public void testPreemptedInspectionResumesAfterThePriorityProject() {
+        createQueue(1);
+        final StubInspectionJob background = enqueue("background");
+        assertTrue(background.awaitStart());
+        background.holdCancellation = true;
+        enqueue("second");
+        final StubInspectionJob priority = enqueue("priority");
+        queue.prioritizeInspection("priority");
+
+        background.holdCancellation = false;
+        assertTrue(priority.awaitStart());
+        assertEquals(Arrays.asList("background", "second"), getScheduledProjectNames());
+        // Preempted rather than finished, so the project still shows as waiting for its inspection
+        assertTrue(queue.getInspectionIsScheduled("background"));
+        assertFalse(queue.getInspectionIsRunning("background"));
+
+        priority.finish.countDown();
+        waitFor(() -> background.runCount.get() == 2);
+        assertTrue(queue.getInspectionIsRunning("background"));
+    }
+
+    @Test
+    public void testPreemptedInspectionThatFinishedAnywayIsNotRequeued() {
+        createQueue(1);
+        final StubInspectionJob background = enqueue("background");
+        assertTrue(background.awaitStart());
+        background.holdCancellation = true;
+        final StubInspectionJob priority = enqueue("priority");
+        queue.prioritizeInspection("priority");
+
+        background.finish.countDown();
+        assertTrue(priority.awaitStart());
+        assertTrue(getScheduledProjectNames().isEmpty());
+        assertFalse(queue.getInspectionIsScheduled("background"));
+        assertEquals(1, background.runCount.get());
+    }
+
+    private void createQueue(final int maxConcurrentInspections) {
+        queue = new InspectionJobQueue(new InspectionJobChangeListener(new ComponentInspectorViewService(null, null)), () -> maxConcurrentInspections);
+    }
+
+    private StubInspectionJob enqueue(final String projectName) {
+        final StubInspectionJob inspection = new StubInspectionJob(projectName);
+        inspections.add(inspection);
+        assertTrue(queue.enqueueInspection(inspection));
+        return inspection;
+    }
+
+    private List<String> getScheduledProjectNames() {
+        final List<String> projectNames = new ArrayList<>();
+        queue.getScheduledInspectionsNames().forEach(name -> projectNames.add(name.substring(InspectionJob.JOB_INSPECT_PROJECT_PREFACE.length())));
+        return projectNames;
+    }
+
+    private void waitFor(final BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLISECONDS;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out waiting for the inspection queue", System.currentTimeMillis() < deadline);
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private class StubInspectionJob extends InspectionJob {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch finish = new CountDownLatch(1);
+        private final AtomicInteger runCount = new AtomicInteger();
+        private volatile boolean holdCancellation = false;
+
+        private StubInspectionJob(final String projectName) {
+            super(projectName, null, null, null, null, null);
+        }
+
+        private boolean awaitStart() {
+            try {
+                return started.await(TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        protected IStatus run(final IProgressMonitor monitor) {
+            runCount.incrementAndGet();
+            largestRunningCount.accumulateAndGet(runningCount.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                while (!finish.await(POLL_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+                    if (monitor.isCanceled() && !holdCancellation) {
+                        return Status.CANCEL_STATUS;
+                    }
+                }
+                return Status.OK_STATUS;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Status.CANCEL_STATUS;
+            } finally {
+                runningCount.decrementAndGet();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.PersistentComponentStore;
+import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class PersistentComponentStoreTest {
+    private static final long TIME_TO_LIVE = 1000000;
+    private static final long NOW = 5000;
+    private static final int HEADER_LENGTH = 8;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File storeFile;
+
+    @Before
+    public void createStoreFile() {
+        storeFile = new File(temporaryFolder.getRoot(), "components.cache");
+    }
+
+    @Test
+    public void testAppendedComponentsAreLoadedAgain() {
+        writeComponents(createComponent(1, 1000), createComponent(2, 2000), createComponent(3, 3000));
+        final List<StoredComponent> loaded = load();
+        assertEquals(Arrays.asList("artifact1", "artifact2", "artifact3"), getNames(loaded));
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L), getWriteTimes(loaded));
+        final ComponentModel component = loaded.get(1).component;
+        assertEquals("License 2", component.getLicense().name);
+        assertArrayEquals(new int[] { 2, 0, 1 }, component.getVulnerabilityCount());
+        assertTrue(component.getComponentIsKnown());
+    }
+
+    @Test
+    public void testExpiredComponentsAreNotLoaded() {
+        writeComponents(createComponent(1, 1000), createComponent(2, 2000));
+        final List<StoredComponent> loaded = new ArrayList<>();
+        new PersistentComponentStore(storeFile, TIME_TO_LIVE).load(1500 + TIME_TO_LIVE, (component, writeTime) -> loaded.add(new StoredComponent(component, writeTime)));
+        assertEquals(Arrays.asList("artifact2"), getNames(loaded));
+    }
+
+    @Test
+    public void testUnknownMagicNumberDiscardsTheFile() throws IOException {
+        writeComponents(createComponent(1, 1000));
+        overwriteInt(0, PersistentComponentStore.MAGIC_NUMBER + 1);
+        assertTrue(load().isEmpty());
+        assertHeaderOnly();
+    }
+
+    @Test
+    public void testNewerFormatVersionDiscardsTheFile() throws IOException {
+        writeComponents(createComponent(1, 1000));
+        overwriteInt(4, PersistentComponentStore.FORMAT_VERSION + 1);
+        assertTrue(load().isEmpty());
+        assertHeaderOnly();
+    }
+
+    @Test
+    public void testLoadingStopsAtChecksumMismatch() throws IOException {
+        final long[] recordEnds = writeComponents(createComponent(1, 1000), createComponent(2, 2000), createComponent(3, 3000));
+        // Flip the last payload byte of the second record
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.seek(recordEnds[1] - 1);
+            final int lastByte = file.read();
+            file.seek(recordEnds[1] - 1);
+            file.write(lastByte ^ 0xFF);
+        }
+        assertEquals(Arrays.asList("artifact1"), getNames(load()));
+        assertEquals(recordEnds[0], storeFile.length());
+    }
+
+    @Test
+    public void testLoadingStopsAtTruncatedRecord() throws IOException {
+        final long[] recordEnds = writeComponents(createComponent(1, 1000), createComponent(2, 2000), createComponent(3, 3000));
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.setLength(recordEnds[2] - 3);
+        }
+        assertEquals(Arrays.asList("artifact1", "artifact2"), getNames(load()));
+        assertEquals(recordEnds[1], storeFile.length());
+    }
+
+    @Test
+    public void testRecordsAppendedAfterDamageFollowTheLastGoodRecord() throws IOException {
+        final long[] recordEnds = writeComponents(createComponent(1, 1000), createComponent(2, 2000));
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.setLength(recordEnds[1] - 3);
+        }
+        writeComponents(createComponent(3, 3000));
+        assertEquals(Arrays.asList("artifact1", "artifact3"), getNames(load()));
+    }
+
+    @Test
+    public void testSupersededRecordsAreCompacted() {
+        final ComponentModel[] versions = new ComponentModel[5];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = new ComponentModel(createExternalId(1), createLicense(i), new int[] { i, 0, 0 }, true);
+        }
+        final PersistentComponentStore store = new PersistentComponentStore(storeFile, TIME_TO_LIVE);
+        store.load(NOW, (component, writeTime) -> {
+        });
+        for (int i = 0; i < versions.length; i++) {
+            store.append(versions[i], 1000 + i);
+        }
+        store.close();
+        final long uncompactedLength = storeFile.length();
+
+        final List<StoredComponent> loaded = load();
+        assertEquals(1, loaded.size());
+        assertEquals("License 4", loaded.get(0).component.getLicense().name);
+        assertTrue(storeFile.length() < uncompactedLength);
+        assertFalse(new File(storeFile.getParentFile(), storeFile.getName() + ".tmp").exists());
+        assertEquals(Arrays.asList("artifact1"), getNames(load()));
+    }
+
+    private List<StoredComponent> load() {
+        final List<StoredComponent> loaded = new ArrayList<>();
+        final PersistentComponentStore store = new PersistentComponentStore(storeFile, TIME_TO_LIVE);
+        store.load(NOW, (component, writeTime) -> loaded.add(new StoredComponent(component, writeTime)));
+        store.close();
+        return loaded;
+    }
+
+    // Returns the file length after each record, so tests can find where each record ends
+    private long[] writeComponents(final StoredComponent... components) {
+        final PersistentComponentStore store = new PersistentComponentStore(storeFile, TIME_TO_LIVE);
+        store.load(NOW, (component, writeTime) -> {
+        });
+        final long[] recordEnds = new long[components.length];
+        for (int i = 0; i < components.length; i++) {
+            store.append(components[i].component, components[i].writeTime);
+            recordEnds[i] = storeFile.length();
+        }
+        store.close();
+        return recordEnds;
+    }
+
+    private void overwriteInt(final long position, final int value) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.seek(position);
+            file.writeInt(value);
+        }
+    }
+
+    private void assertHeaderOnly() throws IOException {
+        final ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(storeFile.toPath()));
+        assertEquals(HEADER_LENGTH, header.remaining());
+        assertEquals(PersistentComponentStore.MAGIC_NUMBER, header.getInt());
+        assertEquals(PersistentComponentStore.FORMAT_VERSION, header.getInt());
+    }
+
+    private List<String> getNames(final List<StoredComponent> components) {
+        final List<String> names = new ArrayList<>();
+        components.forEach(storedComponent -> names.add(storedComponent.component.getExternalId().name));
+        return names;
+    }
+
+    private List<Long> getWriteTimes(final List<StoredComponent> components) {
+        final List<Long> writeTimes = new ArrayList<>();
+        components.forEach(storedComponent -> writeTimes.add(storedComponent.writeTime));
+        return writeTimes;
+    }
+
+    private StoredComponent createComponent(final int component, final long writeTime) {
+        return new StoredComponent(new ComponentModel(createExternalId(component), createLicense(component), new int[] { component, 0, 1 }, true), writeTime);
+    }
+
+    private ExternalId createExternalId(final int component) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = "com.example";
+        externalId.name = "artifact" + component;
+        externalId.version = "1.0";
+        return externalId;
+    }
+
+    private ComplexLicenseView createLicense(final int license) {
+        final ComplexLicenseView complexLicense = new ComplexLicenseView();
+        complexLicense.name = "License " + license;
+        complexLicense.license = "https://hub.example.com/api/licenses/" + license;
+        return complexLicense;
+    }
+
+    private static class StoredComponent {
+        private final ComponentModel component;
+        private final long writeTime;
+
+        private StoredComponent(final ComponentModel component, final long writeTime) {
+            this.component = component;
+            this.writeTime = writeTime;
+        }
+    }
+
+}
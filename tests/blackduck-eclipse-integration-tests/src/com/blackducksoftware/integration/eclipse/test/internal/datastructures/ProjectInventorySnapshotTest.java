@@ -0,0 +1,230 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.ProjectInventorySnapshot;
+import com.blackducksoftware.integration.hub.api.generated.enumeration.ComplexLicenseType;
+import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class ProjectInventorySnapshotTest {
+    private static final int HEADER_LENGTH = 12;
+    private static final String RAW_RESPONSE_BODY = "{\"raw\":\"response body\"}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ProjectInventorySnapshot snapshot;
+
+    @Before
+    public void createSnapshot() {
+        snapshot = new ProjectInventorySnapshot(new File(temporaryFolder.getRoot(), "inventory.snapshot"));
+    }
+
+    @Test
+    public void testMissingSnapshotReadsAsEmpty() throws IOException {
+        assertTrue(snapshot.read().isEmpty());
+    }
+
+    @Test
+    public void testProjectsAreReadBackInOrder() throws IOException {
+        final Map<String, List<ComponentModel>> projectComponents = new HashMap<>();
+        projectComponents.put("first-project", Arrays.asList(createComponent(3), createComponent(1), createComponent(2)));
+        projectComponents.put("second-project", Arrays.asList(createComponent(1), createUnknownComponent(4)));
+        projectComponents.put("empty-project", Collections.emptyList());
+        snapshot.write(projectComponents);
+
+        final Map<String, List<ComponentModel>> readComponents = snapshot.read();
+        assertEquals(projectComponents.keySet(), readComponents.keySet());
+        assertEquals(Arrays.asList("artifact3", "artifact1", "artifact2"), getNames(readComponents.get("first-project")));
+        assertEquals(Arrays.asList("artifact1", "artifact4"), getNames(readComponents.get("second-project")));
+        assertTrue(readComponents.get("empty-project").isEmpty());
+        final ComponentModel known = readComponents.get("first-project").get(0);
+        assertTrue(known.getComponentIsKnown());
+        assertEquals("com.example", known.getExternalId().group);
+        assertEquals("1.3", known.getExternalId().version);
+        assertArrayEquals(new int[] { 3, 0, 1 }, known.getVulnerabilityCount());
+        final ComponentModel unknown = readComponents.get("second-project").get(1);
+        assertFalse(unknown.getComponentIsKnown());
+        assertNull(unknown.getLicense());
+    }
+
+    @Test
+    public void testLicenseRoundTripSkipsRawJson() throws IOException {
+        final ComplexLicenseView dualLicense = createLicense(1);
+        dualLicense.type = ComplexLicenseType.DISJUNCTIVE;
+        dualLicense.licenses = Arrays.asList(createLicense(2), createLicense(3));
+        dualLicense.json = RAW_RESPONSE_BODY;
+        snapshot.write(Collections.singletonMap("project", Collections.singletonList(new ComponentModel(createExternalId(1), dualLicense, new int[] { 0, 0, 0 }, true))));
+
+        assertFalse(new String(Files.readAllBytes(snapshot.getSnapshotFile().toPath()), StandardCharsets.UTF_8).contains(RAW_RESPONSE_BODY));
+        final ComplexLicenseView readLicense = snapshot.read().get("project").get(0).getLicense();
+        assertEquals("License 1", readLicense.name);
+        assertEquals(ComplexLicenseType.DISJUNCTIVE, readLicense.type);
+        assertEquals(2, readLicense.licenses.size());
+        assertEquals("License 3", readLicense.licenses.get(1).name);
+        assertEquals("https://hub.example.com/api/licenses/3", readLicense.licenses.get(1).license);
+        assertNull(readLicense.json);
+    }
+
+    @Test
+    public void testUnknownMagicNumberIsRejected() throws IOException {
+        writeSnapshot();
+        overwriteInt(0, ProjectInventorySnapshot.MAGIC_NUMBER + 1);
+        assertReadFails("Unknown snapshot format");
+    }
+
+    @Test
+    public void testNewerFormatVersionIsRejected() throws IOException {
+        writeSnapshot();
+        overwriteInt(4, ProjectInventorySnapshot.FORMAT_VERSION + 1);
+        assertReadFails("Unknown snapshot format");
+    }
+
+    @Test
+    public void testChecksumMismatchIsRejected() throws IOException {
+        writeSnapshot();
+        final long length = snapshot.getSnapshotFile().length();
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.getSnapshotFile(), "rw")) {
+            file.seek(length - 1);
+            final int lastByte = file.read();
+            file.seek(length - 1);
+            file.write(lastByte ^ 0xFF);
+        }
+        assertReadFails("Snapshot checksum mismatch");
+    }
+
+    @Test
+    public void testBodyCutShortAnywhereIsRejected() throws IOException {
+        writeSnapshot();
+        final byte[] fullSnapshot = Files.readAllBytes(snapshot.getSnapshotFile().toPath());
+        for (int bodyLength = fullSnapshot.length - HEADER_LENGTH - 1; bodyLength >= 0; bodyLength--) {
+            // Keep the checksum right, so that only the missing bytes are left to notice
+            truncateBody(bodyLength);
+            try {
+                snapshot.read();
+                fail("Expected a body of " + bodyLength + " bytes to be rejected");
+            } catch (final IOException e) {
+                // Any IOException makes the activator fall back to a cold start
+            }
+        }
+    }
+
+    @Test
+    public void testHeaderWithoutBodyIsRejected() throws IOException {
+        writeSnapshot();
+        truncateBody(0);
+        assertReadFails("Truncated snapshot");
+    }
+
+    private void writeSnapshot() throws IOException {
+        snapshot.write(Collections.singletonMap("project", Arrays.asList(createComponent(1), createComponent(2))));
+    }
+
+    private void truncateBody(final long bodyLength) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.getSnapshotFile(), "rw")) {
+            file.setLength(HEADER_LENGTH + bodyLength);
+            final byte[] body = new byte[(int) bodyLength];
+            file.seek(HEADER_LENGTH);
+            file.readFully(body);
+            final CRC32 checksum = new CRC32();
+            checksum.update(body);
+            file.seek(8);
+            file.writeInt((int) checksum.getValue());
+        }
+    }
+
+    private void overwriteInt(final long position, final int value) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(snapshot.getSnapshotFile(), "rw")) {
+            file.seek(position);
+            file.writeInt(value);
+        }
+    }
+
+    private void assertReadFails(final String expectedMessage) {
+        try {
+            snapshot.read();
+            fail("Expected the snapshot to be rejected");
+        } catch (final IOException e) {
+            assertEquals(expectedMessage, e.getMessage());
+        }
+    }
+
+    private List<String> getNames(final List<ComponentModel> components) {
+        final List<String> names = new ArrayList<>();
+        components.forEach(component -> names.add(component.getExternalId().name));
+        return names;
+    }
+
+    private ComponentModel createComponent(final int component) {
+        return new ComponentModel(createExternalId(component), createLicense(component), new int[] { component, 0, 1 }, true);
+    }
+
+    private ComponentModel createUnknownComponent(final int component) {
+        return new ComponentModel(createExternalId(component), null, new int[] { 0, 0, 0 }, false);
+    }
+
+    private ExternalId createExternalId(final int component) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = "com.example";
+        externalId.name = "artifact" + component;
+        externalId.version = "1." + component;
+        return externalId;
+    }
+
+    private ComplexLicenseView createLicense(final int license) {
+        final ComplexLicenseView complexLicense = new ComplexLicenseView();
+        complexLicense.name = "License " + license;
+        complexLicense.license = "https://hub.example.com/api/licenses/" + license;
+        return complexLicense;
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.ComponentSnapshot;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.SortedComponentSet;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class SortedComponentSetTest {
+    @Test
+    public void testComponentsAreOrderedMostVulnerableFirst() {
+        final SortedComponentSet components = new SortedComponentSet();
+        components.add(createComponent("com.example", "safe", "1.0", new int[] { 0, 0, 0 }, true));
+        components.add(createComponent("com.example", "unknown", "1.0", new int[] { 0, 0, 0 }, false));
+        components.add(createComponent("com.example", "medium", "1.0", new int[] { 0, 4, 0 }, true));
+        components.add(createComponent("com.example", "high", "1.0", new int[] { 1, 0, 0 }, true));
+        components.add(createComponent("com.example", "another", "1.0", new int[] { 0, 0, 0 }, true));
+        assertNames(components.snapshot().getComponentList(), "high", "medium", "unknown", "another", "safe");
+    }
+
+    @Test
+    public void testReplacingComponentMovesIt() {
+        final SortedComponentSet components = new SortedComponentSet();
+        components.add(createComponent("com.example", "first", "1.0", new int[] { 2, 0, 0 }, true));
+        components.add(createComponent("com.example", "second", "1.0", new int[] { 1, 0, 0 }, true));
+        assertTrue(components.replace(createComponent("com.example", "first", "1.0", new int[] { 0, 0, 0 }, true)));
+        assertFalse(components.replace(createComponent("com.example", "third", "1.0", new int[] { 5, 0, 0 }, true)));
+        assertEquals(2, components.size());
+        assertNames(components.snapshot().getComponentList(), "second", "first");
+    }
+
+    @Test
+    public void testComponentsDifferingOnlyInGroupAreKept() {
+        final SortedComponentSet components = new SortedComponentSet();
+        components.add(createComponent("com.example", "common", "1.0", new int[] { 0, 0, 0 }, true));
+        components.add(createComponent("org.example", "common", "1.0", new int[] { 0, 0, 0 }, true));
+        assertEquals(2, components.snapshot().getComponentList().size());
+        assertTrue(components.remove(createExternalId("org.example", "common", "1.0")));
+        assertFalse(components.remove(createExternalId("org.example", "common", "1.0")));
+        assertEquals("com.example", components.snapshot().getComponentList().get(0).getExternalId().group);
+    }
+
+    @Test
+    public void testSnapshotIsReusedUntilComponentsChange() {
+        final SortedComponentSet components = new SortedComponentSet();
+        components.add(createComponent("com.example", "first", "1.0", new int[] { 0, 0, 0 }, true));
+        final ComponentSnapshot snapshot = components.snapshot();
+        assertSame(snapshot, components.snapshot());
+        components.add(createComponent("com.example", "second", "1.0", new int[] { 0, 0, 0 }, true));
+        assertNotEquals(snapshot.getVersion(), components.getVersion());
+        assertEquals(1, snapshot.size());
+        assertEquals(2, components.snapshot().size());
+        assertEquals(components.getVersion(), components.snapshot().getVersion());
+    }
+
+    @Test
+    public void testAddingSameModelAgainChangesNothing() {
+        final SortedComponentSet components = new SortedComponentSet();
+        final ComponentModel component = createComponent("com.example", "first", "1.0", new int[] { 0, 0, 0 }, true);
+        assertTrue(components.add(component));
+        final long version = components.getVersion();
+        assertFalse(components.add(component));
+        assertFalse(components.replace(component));
+        assertEquals(version, components.getVersion());
+        assertTrue(components.add(component.asStale()));
+    }
+
+    @Test
+    public void testVersionsAreUniqueAcrossSets() {
+        final SortedComponentSet first = new SortedComponentSet();
+        final SortedComponentSet second = new SortedComponentSet();
+        assertNotEquals(first.snapshot().getVersion(), second.snapshot().getVersion());
+        assertFalse(first.remove(createExternalId("com.example", "missing", "1.0")));
+        assertEquals(first.getVersion(), first.snapshot().getVersion());
+    }
+
+    private void assertNames(final List<ComponentModel> components, final String... names) {
+        assertEquals(names.length, components.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], components.get(i).getExternalId().name);
+        }
+    }
+
+    private ComponentModel createComponent(final String group, final String name, final String version, final int[] vulnerabilityCount, final boolean componentIsKnown) {
+        return new ComponentModel(createExternalId(group, name, version), null, vulnerabilityCount, componentIsKnown);
+    }
+
+    private ExternalId createExternalId(final String group, final String name, final String version) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = group;
+        externalId.name = name;
+        externalId.version = version;
+        return externalId;
+    }
+
+}
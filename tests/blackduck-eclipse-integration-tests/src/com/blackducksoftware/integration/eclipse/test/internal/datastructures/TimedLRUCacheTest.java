@@ -0,0 +1,218 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.datastructures.CacheStatistics;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.TimedLRUCache;
+
+public class TimedLRUCacheTest {
+    private static final int THREAD_COUNT = 8;
+    private static final int OPERATIONS_PER_THREAD = 50000;
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        final TimedLRUCache<String, String> cache = new TimedLRUCache<>(3, 60000);
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.put("c", "c");
+        cache.get("a");
+        cache.put("d", "d");
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testEntriesExpireAfterTimeout() {
+        final AtomicLong clock = new AtomicLong();
+        final TimedLRUCache<String, String> cache = new TimedLRUCache<>(10, 100, new CacheStatistics(), clock::get);
+        cache.put("a", "a");
+        clock.set(50);
+        cache.put("b", "b");
+        clock.set(99);
+        assertNotNull(cache.get("a"));
+        clock.set(100);
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        clock.set(150);
+        assertNull(cache.get("b"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testOverwritingEntryRestartsTimeout() {
+        final AtomicLong clock = new AtomicLong();
+        final TimedLRUCache<String, String> cache = new TimedLRUCache<>(10, 100, new CacheStatistics(), clock::get);
+        cache.put("a", "first");
+        clock.set(80);
+        cache.put("a", "second");
+        clock.set(150);
+        assertEquals("second", cache.get("a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testBackdatedEntriesExpireFromTheirWriteTime() {
+        final AtomicLong clock = new AtomicLong(1000);
+        final TimedLRUCache<String, String> cache = new TimedLRUCache<>(10, 100, new CacheStatistics(), clock::get);
+        cache.put("current", "current");
+        cache.put("old", "old", 950);
+        cache.put("expired", "expired", 900);
+        assertNull(cache.get("expired"));
+        assertEquals(2, cache.size());
+        clock.set(1050);
+        assertNull(cache.get("old"));
+        assertEquals("current", cache.get("current"));
+        clock.set(1100);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testChangedTimeoutAppliesToExistingEntries() {
+        final AtomicLong clock = new AtomicLong();
+        final TimedLRUCache<String, String> cache = new TimedLRUCache<>(10, 100, new CacheStatistics(), clock::get);
+        cache.put("a", "a");
+        clock.set(50);
+        cache.put("b", "b");
+        clock.set(120);
+        cache.setTimeout(200);
+        assertEquals("a", cache.get("a"));
+        clock.set(200);
+        assertNull(cache.get("a"));
+        cache.setTimeout(60);
+        assertNull(cache.get("b"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCapacityHoldsUnderContention() throws InterruptedException {
+        final int capacity = 1000;
+        final TimedLRUCache<Integer, Integer> cache = new TimedLRUCache<>(capacity, 60000);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicInteger largestObservedSize = new AtomicInteger();
+        final Thread sizeMonitor = new Thread(() -> {
+            while (running.get()) {
+                largestObservedSize.accumulateAndGet(cache.size(), Math::max);
+            }
+        });
+        sizeMonitor.start();
+        runConcurrently(() -> {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                final Integer key = random.nextInt(capacity * 20);
+                if (random.nextBoolean()) {
+                    cache.put(key, key);
+                } else {
+                    final Integer value = cache.get(key);
+                    if (value != null) {
+                        assertEquals(key, value);
+                    }
+                }
+            }
+        });
+        running.set(false);
+        sizeMonitor.join();
+        assertTrue(largestObservedSize.get() <= capacity);
+        assertTrue(cache.size() <= capacity);
+        assertTrue(cache.getStatistics().getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testTimeoutHoldsUnderContention() throws InterruptedException {
+        final int timeout = 50;
+        final AtomicLong clock = new AtomicLong();
+        final TimedLRUCache<Integer, AtomicLong> cache = new TimedLRUCache<>(5000, timeout, new CacheStatistics(), clock::get);
+        final AtomicInteger staleReads = new AtomicInteger();
+        runConcurrently(() -> {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                final Integer key = random.nextInt(2000);
+                if (random.nextInt(100) == 0) {
+                    clock.incrementAndGet();
+                }
+                if (random.nextBoolean()) {
+                    // The holder records a time no earlier than the one the cache stamped the entry with
+                    final AtomicLong writtenAt = new AtomicLong(Long.MAX_VALUE);
+                    cache.put(key, writtenAt);
+                    writtenAt.set(clock.get());
+                } else {
+                    final long readAt = clock.get();
+                    final AtomicLong writtenAt = cache.get(key);
+                    if (writtenAt != null && readAt - timeout >= writtenAt.get()) {
+                        staleReads.incrementAndGet();
+                    }
+                }
+            }
+        });
+        assertEquals(0, staleReads.get());
+        clock.addAndGet(timeout);
+        assertEquals(0, cache.size());
+        for (int key = 0; key < 2000; key++) {
+            assertNull(cache.get(key));
+        }
+    }
+
+    private void runConcurrently(final Runnable task) throws InterruptedException {
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    startSignal.await();
+                    task.run();
+                } catch (final Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        startSignal.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.toString(), failures.isEmpty());
+    }
+
+}
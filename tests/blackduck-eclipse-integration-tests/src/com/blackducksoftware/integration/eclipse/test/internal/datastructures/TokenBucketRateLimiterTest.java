@@ -0,0 +1,88 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.datastructures.TokenBucketRateLimiter;
+
+public class TokenBucketRateLimiterTest {
+    // Generous enough for a slow build machine, but well short of the waits the tests expect
+    private static final long IMMEDIATE_MILLISECONDS = 100;
+
+    @Test
+    public void testBurstIsCappedAtOneSecondOfPermits() throws InterruptedException {
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(5);
+        final long burstTime = timeAcquisitions(rateLimiter, 5);
+        assertTrue(burstTime < IMMEDIATE_MILLISECONDS);
+        // The sixth permit has to wait for the bucket to refill at five permits a second
+        final long waitTime = timeAcquisitions(rateLimiter, 1);
+        assertTrue(burstTime + waitTime >= 150);
+    }
+
+    @Test
+    public void testPermitsRefillOverTime() throws InterruptedException {
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10);
+        timeAcquisitions(rateLimiter, 10);
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertTrue(timeAcquisitions(rateLimiter, 4) < IMMEDIATE_MILLISECONDS);
+    }
+
+    @Test
+    public void testIdleTimeDoesNotGrowTheBurst() throws InterruptedException {
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(4);
+        TimeUnit.MILLISECONDS.sleep(500);
+        assertTrue(timeAcquisitions(rateLimiter, 4) < IMMEDIATE_MILLISECONDS);
+        assertTrue(timeAcquisitions(rateLimiter, 1) >= 150);
+    }
+
+    @Test
+    public void testLoweringTheRateDropsAvailablePermits() throws InterruptedException {
+        final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(20);
+        rateLimiter.setRate(2);
+        assertEquals(2, rateLimiter.getRate(), 0);
+        assertTrue(timeAcquisitions(rateLimiter, 2) < IMMEDIATE_MILLISECONDS);
+        // At two permits a second the next one is half a second away
+        assertTrue(timeAcquisitions(rateLimiter, 1) >= 400);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRateMustBePositive() {
+        new TokenBucketRateLimiter(0);
+    }
+
+    private long timeAcquisitions(final TokenBucketRateLimiter rateLimiter, final int permits) throws InterruptedException {
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < permits; i++) {
+            rateLimiter.acquire();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+}
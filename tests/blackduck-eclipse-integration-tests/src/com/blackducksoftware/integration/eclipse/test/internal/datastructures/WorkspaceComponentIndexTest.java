@@ -0,0 +1,75 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.WorkspaceComponentIndex;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class WorkspaceComponentIndexTest {
+    @Test
+    public void testFreshModelReplacesStaleOne() {
+        final WorkspaceComponentIndex index = new WorkspaceComponentIndex();
+        final ComponentModel restoredComponent = createComponent(new int[] { 1, 0, 0 }).asStale();
+        final ComponentModel freshComponent = createComponent(new int[] { 2, 0, 0 });
+        assertSame(restoredComponent, index.addUsage("first", restoredComponent));
+        assertSame(freshComponent, index.addUsage("second", freshComponent));
+        assertEquals(new HashSet<>(Arrays.asList("first", "second")), index.getProjectsUsing(freshComponent.getExternalId()));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testStaleModelDoesNotHideFreshOne() {
+        final WorkspaceComponentIndex index = new WorkspaceComponentIndex();
+        final ComponentModel freshComponent = createComponent(new int[] { 2, 0, 0 });
+        assertSame(freshComponent, index.addUsage("first", freshComponent));
+        assertSame(freshComponent, index.addUsage("second", createComponent(new int[] { 1, 0, 0 }).asStale()));
+    }
+
+    @Test
+    public void testLaterLookupReplacesEarlierOne() {
+        final WorkspaceComponentIndex index = new WorkspaceComponentIndex();
+        index.addUsage("first", createComponent(new int[] { 1, 0, 0 }));
+        final ComponentModel laterComponent = createComponent(new int[] { 0, 0, 0 });
+        assertSame(laterComponent, index.addUsage("second", laterComponent));
+    }
+
+    private ComponentModel createComponent(final int[] vulnerabilityCount) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = "com.example";
+        externalId.name = "shared";
+        externalId.version = "1.0";
+        return new ComponentModel(externalId, null, vulnerabilityCount, true);
+    }
+
+}
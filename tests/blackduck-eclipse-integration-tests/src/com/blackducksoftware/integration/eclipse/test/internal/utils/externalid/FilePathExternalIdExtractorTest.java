@@ -0,0 +1,81 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.internal.utils.externalid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.utils.externalid.FilePathExternalIdExtractor;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class FilePathExternalIdExtractorTest {
+    private static final String MAVEN_REPO = "/home/user/.m2/repository/";
+    private static final String GRADLE_CACHE = "/home/user/.gradle/caches/modules-2/files-2.1/";
+
+    private final FilePathExternalIdExtractor extractor = new FilePathExternalIdExtractor();
+
+    @Test
+    public void testMavenPathIsParsed() {
+        final Optional<ExternalId> externalId = extractor.getExternalIdFromLocalMavenPath(MAVEN_REPO + "com/google/guava/guava/23.0/guava-23.0.jar", MAVEN_REPO);
+        assertEquals("com.google.guava:guava:23.0", externalId.get().createExternalId());
+    }
+
+    @Test
+    public void testMavenRepoWithoutTrailingSeparator() {
+        final String repo = MAVEN_REPO.substring(0, MAVEN_REPO.length() - 1);
+        assertTrue(extractor.isInLocalMavenRepo(MAVEN_REPO + "junit/junit/4.12/junit-4.12.jar", repo));
+        assertFalse(extractor.isInLocalMavenRepo(repo + "-old/junit/junit/4.12/junit-4.12.jar", repo));
+        assertEquals("junit:junit:4.12", extractor.getExternalIdFromLocalMavenPath(MAVEN_REPO + "junit/junit/4.12/junit-4.12.jar", repo).get().createExternalId());
+    }
+
+    @Test
+    public void testShortMavenPathHasNoExternalId() {
+        assertFalse(extractor.getExternalIdFromLocalMavenPath(MAVEN_REPO + "4.12/junit-4.12.jar", MAVEN_REPO).isPresent());
+        final ExternalId externalId = extractor.getExternalIdFromLocalMavenPath(MAVEN_REPO + "junit/4.12/junit-4.12.jar", MAVEN_REPO).get();
+        assertEquals("", externalId.group);
+        assertEquals("junit", externalId.name);
+        assertEquals("4.12", externalId.version);
+    }
+
+    @Test
+    public void testGradlePathIsParsed() {
+        final String path = GRADLE_CACHE + "org.slf4j/slf4j-api/1.7.25/da76ca59f6a57ee3102f8f9bd9cee742973efa8a/slf4j-api-1.7.25.jar";
+        assertTrue(extractor.isInGradleCache(path));
+        assertEquals("org.slf4j:slf4j-api:1.7.25", extractor.getExternalIdFromLocalGradlePath(path).get().createExternalId());
+    }
+
+    @Test
+    public void testGradleDistributionJarsAreNotDependencies() {
+        assertFalse(extractor.isInGradleCache("/home/user/.gradle/wrapper/dists/gradle-4.6/lib/plugins/gradle-core-4.6.jar"));
+        assertFalse(extractor.isInGradleCache("/home/user/.gradle/wrapper/dists/gradle-4.6/lib/gradle-core-4.6.jar"));
+        assertFalse(extractor.isInGradleCache("/home/user/.gradle/lib/x/gradle-core-4.6.jar"));
+        assertFalse(extractor.isInGradleCache(MAVEN_REPO + "junit/junit/4.12/junit-4.12.jar"));
+    }
+
+}
@@ -0,0 +1,360 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.services.connection.hub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.PreferenceStore;
+import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.internal.datastructures.PersistentComponentStore;
+import com.blackducksoftware.integration.eclipse.services.BlackDuckPreferencesService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubComponentLookupService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubPreferencesService;
+import com.blackducksoftware.integration.exception.IntegrationException;
+import com.blackducksoftware.integration.hub.api.generated.view.VulnerabilityV2View;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+import com.blackducksoftware.integration.rest.exception.IntegrationRestException;
+
+public class HubComponentLookupServiceTest {
+    private static final int CONCURRENT_LOOKUPS = 8;
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+    private static final int HTTP_UNAUTHORIZED = 401;
+    private static final long MIN_RETRY_DELAYS = 250 + 500;
+    private static final long MILLISECONDS_PER_HOUR = 3600000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicInteger vulnerabilityRequests = new AtomicInteger();
+    private final AtomicInteger licenseRequests = new AtomicInteger();
+    private final CountDownLatch releaseRequests = new CountDownLatch(1);
+    private StubHubConnectionManagerService hubConnectionManagerService;
+    private HubConnectionMonitorService hubConnectionMonitorService;
+    private HubComponentLookupService hubComponentLookupService;
+    private ExecutorService callers;
+
+    @Before
+    public void setUp() {
+        hubConnectionManagerService = new StubHubConnectionManagerService();
+        hubConnectionManagerService.licenseResponse = externalId -> {
+            licenseRequests.incrementAndGet();
+            return null;
+        };
+        hubConnectionMonitorService = new HubConnectionMonitorService(hubConnectionManagerService);
+        hubConnectionMonitorService.refresh();
+        final HubPreferencesService hubPreferencesService = new HubPreferencesService(null, new BlackDuckPreferencesService(new StubPlugin()));
+        hubComponentLookupService = new HubComponentLookupService(hubConnectionManagerService, hubConnectionMonitorService, hubPreferencesService);
+        callers = Executors.newFixedThreadPool(CONCURRENT_LOOKUPS);
+    }
+
+    @After
+    public void tearDown() {
+        releaseRequests.countDown();
+        callers.shutdownNow();
+        hubComponentLookupService.shutDown();
+        hubConnectionMonitorService.stop();
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneLoad() throws Exception {
+        hubConnectionManagerService.vulnerabilityResponse = externalId -> {
+            vulnerabilityRequests.incrementAndGet();
+            awaitRelease();
+            return Arrays.asList(createVulnerability("HIGH"), createVulnerability("LOW"));
+        };
+        final List<CompletableFuture<ComponentModel>> lookups = lookUpConcurrently(createExternalId("shared"));
+        releaseRequests.countDown();
+
+        final ComponentModel component = lookups.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        for (final CompletableFuture<ComponentModel> lookup : lookups) {
+            assertSame(component, lookup.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertTrue(component.getComponentIsKnown());
+        assertEquals(1, component.getVulnerabilityCount()[0]);
+        assertEquals(1, vulnerabilityRequests.get());
+        assertEquals(1, licenseRequests.get());
+        assertEquals(CONCURRENT_LOOKUPS - 1, hubComponentLookupService.getCacheStatistics().getCoalescedCount());
+    }
+
+    @Test
+    public void testConcurrentLookupsShareOneFailure() throws Exception {
+        hubConnectionManagerService.vulnerabilityResponse = externalId -> {
+            vulnerabilityRequests.incrementAndGet();
+            awaitRelease();
+            throw new IntegrationRestException(HTTP_SERVICE_UNAVAILABLE, "Service Unavailable", "The Hub is restarting");
+        };
+        final List<CompletableFuture<ComponentModel>> lookups = lookUpConcurrently(createExternalId("failing"));
+        releaseRequests.countDown();
+
+        final Throwable failure = getFailure(lookups.get(0));
+        assertTrue(failure instanceof IntegrationException);
+        for (final CompletableFuture<ComponentModel> lookup : lookups) {
+            assertSame(failure, getFailure(lookup));
+        }
+        // One load, which retried its requests before giving up
+        assertEquals(3, vulnerabilityRequests.get());
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() throws Exception {
+        hubConnectionManagerService.vulnerabilityResponse = externalId -> {
+            if (vulnerabilityRequests.incrementAndGet() < 3) {
+                throw new IntegrationRestException(HTTP_SERVICE_UNAVAILABLE, "Service Unavailable", "The Hub is restarting");
+            }
+            return Arrays.asList(createVulnerability("MEDIUM"));
+        };
+        final long startTime = System.currentTimeMillis();
+        final ComponentModel component = hubComponentLookupService.lookupComponentAsync(createExternalId("retried"), new NullProgressMonitor()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertTrue(component.getComponentIsKnown());
+        assertEquals(1, component.getVulnerabilityCount()[1]);
+        assertEquals(3, vulnerabilityRequests.get());
+        // Each retry waits for at least half of its backoff, which doubles from 500 milliseconds
+        assertTrue(System.currentTimeMillis() - startTime >= MIN_RETRY_DELAYS);
+        assertTrue(hubConnectionMonitorService.isConnected());
+    }
+
+    @Test
+    public void testRequestsGiveUpAfterThreeAttempts() throws Exception {
+        hubConnectionManagerService.vulnerabilityResponse = externalId -> {
+            vulnerabilityRequests.incrementAndGet();
+            throw new IntegrationRestException(HTTP_SERVICE_UNAVAILABLE, "Service Unavailable", "The Hub is restarting");
+        };
+        final long startTime = System.currentTimeMillis();
+        final Throwable failure = getFailure(hubComponentLookupService.lookupComponentAsync(createExternalId("unavailable"), new NullProgressMonitor()));
+
+        assertTrue(failure.getMessage().contains("after 3 attempts"));
+        assertTrue(failure.getCause() instanceof IntegrationRestException);
+        assertEquals(3, vulnerabilityRequests.get());
+        assertTrue(System.currentTimeMillis() - startTime >= MIN_RETRY_DELAYS);
+        // A lookup that failed because the Hub was down is not cached as an unknown component
+        assertEquals(1, hubComponentLookupService.getCacheStatistics().getLoadFailureCount());
+    }
+
+    @Test
+    public void testExpiredSessionIsRebuiltOnce() throws Exception {
+        hubConnectionManagerService.vulnerabilityResponse = externalId -> {
+            if (vulnerabilityRequests.incrementAndGet() == 1) {
+                throw new IntegrationRestException(HTTP_UNAUTHORIZED, "Unauthorized", "The session has expired");
+            }
+            return Arrays.asList(createVulnerability("HIGH"));
+        };
+        final ComponentModel component = hubComponentLookupService.lookupComponentAsync(createExternalId("reauthenticated"), new NullProgressMonitor()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertTrue(component.getComponentIsKnown());
+        assertEquals(2, vulnerabilityRequests.get());
+        assertEquals(1, hubConnectionManagerService.sessionsInvalidated.get());
+        assertEquals(2, hubConnectionManagerService.sessionsCreated.get());
+        assertTrue(hubConnectionMonitorService.isConnected());
+    }
+
+    @Test
+    public void testStaleComponentIsServedWhileOneRefreshRuns() throws Exception {
+        final ExternalId externalId = createExternalId("stale");
+        loadCachedComponent(new ComponentModel(externalId, null, new int[] { 2, 0, 0 }, true), System.currentTimeMillis() - 2 * MILLISECONDS_PER_HOUR);
+        final List<ComponentModel> refreshedComponents = new ArrayList<>();
+        hubComponentLookupService.addRefreshListener(refreshedComponents::add);
+        hubConnectionManagerService.vulnerabilityResponse = requestedId -> {
+            vulnerabilityRequests.incrementAndGet();
+            awaitRelease();
+            return Arrays.asList(createVulnerability("LOW"));
+        };
+
+        final ComponentModel staleComponent = lookUp(externalId);
+        assertTrue(staleComponent.getComponentIsStale());
+        assertEquals(2, staleComponent.getVulnerabilityCount()[0]);
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            assertSame(staleComponent, lookUp(externalId));
+        }
+        waitFor(() -> vulnerabilityRequests.get() == 1);
+        releaseRequests.countDown();
+
+        waitFor(() -> refreshedComponents.size() == 1);
+        assertEquals(1, vulnerabilityRequests.get());
+        final ComponentModel refreshedComponent = lookUp(externalId);
+        assertSame(refreshedComponents.get(0), refreshedComponent);
+        assertFalse(refreshedComponent.getComponentIsStale());
+        assertEquals(1, refreshedComponent.getVulnerabilityCount()[2]);
+    }
+
+    @Test
+    public void testFailedRefreshKeepsTheStaleComponent() throws Exception {
+        final ExternalId externalId = createExternalId("unrefreshed");
+        loadCachedComponent(new ComponentModel(externalId, null, new int[] { 0, 3, 0 }, true), System.currentTimeMillis() - 2 * MILLISECONDS_PER_HOUR);
+        hubConnectionManagerService.vulnerabilityResponse = requestedId -> {
+            vulnerabilityRequests.incrementAndGet();
+            throw new IntegrationRestException(HTTP_SERVICE_UNAVAILABLE, "Service Unavailable", "The Hub is restarting");
+        };
+
+        final ComponentModel staleComponent = lookUp(externalId);
+        assertTrue(staleComponent.getComponentIsStale());
+        waitFor(() -> hubComponentLookupService.getCacheStatistics().getLoadFailureCount() == 1);
+        // The next lookup still gets the stale component, and tries the refresh again
+        waitFor(() -> {
+            assertSame(staleComponent, lookUp(externalId));
+            return vulnerabilityRequests.get() > 3;
+        });
+    }
+
+    @Test
+    public void testFreshComponentIsNotRefreshed() throws Exception {
+        final ExternalId externalId = createExternalId("fresh");
+        loadCachedComponent(new ComponentModel(externalId, null, new int[] { 0, 0, 4 }, true), System.currentTimeMillis() - MILLISECONDS_PER_HOUR / 2);
+
+        final ComponentModel cachedComponent = lookUp(externalId);
+        assertFalse(cachedComponent.getComponentIsStale());
+        assertEquals(4, cachedComponent.getVulnerabilityCount()[2]);
+        assertEquals(0, vulnerabilityRequests.get());
+    }
+
+    @Test
+    public void testComponentPastTheHardExpiryIsLoadedAgain() throws Exception {
+        final ExternalId externalId = createExternalId("expired");
+        final long hardExpiry = Long.parseLong(HubPreferencesService.DEFAULT_HUB_CACHE_HARD_EXPIRY_HOURS) * MILLISECONDS_PER_HOUR;
+        loadCachedComponent(new ComponentModel(externalId, null, new int[] { 5, 0, 0 }, true), System.currentTimeMillis() - hardExpiry - MILLISECONDS_PER_HOUR);
+        hubConnectionManagerService.vulnerabilityResponse = requestedId -> {
+            vulnerabilityRequests.incrementAndGet();
+            return Arrays.asList(createVulnerability("HIGH"));
+        };
+
+        final ComponentModel loadedComponent = lookUp(externalId);
+        assertFalse(loadedComponent.getComponentIsStale());
+        assertEquals(1, loadedComponent.getVulnerabilityCount()[0]);
+        assertEquals(1, vulnerabilityRequests.get());
+    }
+
+    // The store hands its components to the cache with their original write time, which back-dates them
+    private void loadCachedComponent(final ComponentModel component, final long writeTime) throws IOException {
+        final File storeFile = new File(temporaryFolder.getRoot(), "components.cache");
+        final PersistentComponentStore componentStore = new PersistentComponentStore(storeFile, Long.MAX_VALUE);
+        componentStore.load(writeTime, (storedComponent, storedWriteTime) -> {
+        });
+        componentStore.append(component, writeTime);
+        componentStore.close();
+        hubComponentLookupService.loadPersistentCache(storeFile);
+    }
+
+    private ComponentModel lookUp(final ExternalId externalId) throws Exception {
+        return hubComponentLookupService.lookupComponentAsync(externalId, new NullProgressMonitor()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void waitFor(final Condition condition) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (!condition.isMet()) {
+            assertTrue("Timed out waiting for the lookup service", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private List<CompletableFuture<ComponentModel>> lookUpConcurrently(final ExternalId externalId) throws Exception {
+        final CountDownLatch startLookups = new CountDownLatch(1);
+        final List<Future<CompletableFuture<ComponentModel>>> submittedLookups = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_LOOKUPS; i++) {
+            submittedLookups.add(callers.submit(() -> {
+                startLookups.await();
+                return hubComponentLookupService.lookupComponentAsync(externalId, new NullProgressMonitor());
+            }));
+        }
+        startLookups.countDown();
+        final List<CompletableFuture<ComponentModel>> lookups = new ArrayList<>();
+        for (final Future<CompletableFuture<ComponentModel>> submittedLookup : submittedLookups) {
+            lookups.add(submittedLookup.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        return lookups;
+    }
+
+    private Throwable getFailure(final CompletableFuture<ComponentModel> lookup) {
+        try {
+            lookup.join();
+        } catch (final CompletionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("The lookup should have failed");
+    }
+
+    private void awaitRelease() {
+        try {
+            releaseRequests.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExternalId createExternalId(final String name) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = "com.example";
+        externalId.name = name;
+        externalId.version = "1.0";
+        return externalId;
+    }
+
+    private VulnerabilityV2View createVulnerability(final String severity) {
+        final VulnerabilityV2View vulnerability = new VulnerabilityV2View();
+        vulnerability.severity = severity;
+        return vulnerability;
+    }
+
+    private interface Condition {
+        boolean isMet() throws Exception;
+    }
+
+    private static class StubPlugin extends AbstractUIPlugin {
+        private final IPreferenceStore preferenceStore = new PreferenceStore();
+
+        @Override
+        public IPreferenceStore getPreferenceStore() {
+            return preferenceStore;
+        }
+    }
+
+}
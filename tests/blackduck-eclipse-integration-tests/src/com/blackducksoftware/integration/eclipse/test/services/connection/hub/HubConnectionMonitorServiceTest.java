@@ -0,0 +1,128 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.services.connection.hub;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.HubConnectionStatus;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionMonitorService;
+import com.blackducksoftware.integration.exception.IntegrationException;
+import com.blackducksoftware.integration.rest.exception.IntegrationRestException;
+
+public class HubConnectionMonitorServiceTest {
+    private static final int HTTP_UNAUTHORIZED = 401;
+
+    private final List<HubConnectionStatus> statusChanges = new ArrayList<>();
+    private StubHubConnectionManagerService hubConnectionManagerService;
+    private HubConnectionMonitorService hubConnectionMonitorService;
+
+    @Before
+    public void setUp() {
+        hubConnectionManagerService = new StubHubConnectionManagerService();
+        hubConnectionMonitorService = new HubConnectionMonitorService(hubConnectionManagerService);
+        hubConnectionMonitorService.addListener((previousStatus, currentStatus) -> statusChanges.add(currentStatus));
+    }
+
+    @After
+    public void tearDown() {
+        hubConnectionMonitorService.stop();
+    }
+
+    @Test
+    public void testFifthFailedRequestDisconnects() {
+        connect();
+        for (int i = 1; i < HubConnectionMonitorService.REQUEST_FAILURE_THRESHOLD; i++) {
+            hubConnectionMonitorService.recordRequestFailure();
+            assertEquals(HubConnectionStatus.CONNECTED, hubConnectionMonitorService.getStatus());
+        }
+        hubConnectionMonitorService.recordRequestFailure();
+        assertEquals(HubConnectionStatus.DISCONNECTED, hubConnectionMonitorService.getStatus());
+        assertEquals(1, hubConnectionManagerService.sessionsInvalidated.get());
+
+        hubConnectionMonitorService.recordRequestFailure();
+        assertEquals(Arrays.asList(HubConnectionStatus.CONNECTED, HubConnectionStatus.DISCONNECTED), statusChanges);
+    }
+
+    @Test
+    public void testSuccessfulRequestResetsTheFailureCount() {
+        connect();
+        for (int i = 1; i < HubConnectionMonitorService.REQUEST_FAILURE_THRESHOLD; i++) {
+            hubConnectionMonitorService.recordRequestFailure();
+        }
+        hubConnectionMonitorService.recordRequestSuccess();
+        for (int i = 1; i < HubConnectionMonitorService.REQUEST_FAILURE_THRESHOLD; i++) {
+            hubConnectionMonitorService.recordRequestFailure();
+        }
+        assertEquals(HubConnectionStatus.CONNECTED, hubConnectionMonitorService.getStatus());
+    }
+
+    @Test
+    public void testRefreshWhileConnectedChecksTheHub() {
+        connect();
+        assertEquals(HubConnectionMonitorService.CONNECTED_CHECK_INTERVAL, hubConnectionMonitorService.refresh());
+        assertEquals(1, hubConnectionManagerService.connectionChecks.get());
+        assertEquals(1, hubConnectionManagerService.sessionsCreated.get());
+    }
+
+    @Test
+    public void testRefreshBacksOffWhileTheHubIsUnreachable() {
+        hubConnectionManagerService.loginFailure = new IntegrationException("Could not connect", new IOException("Connection refused"));
+        assertEquals(HubConnectionMonitorService.INITIAL_RETRY_DELAY, hubConnectionMonitorService.refresh());
+        assertEquals(HubConnectionMonitorService.INITIAL_RETRY_DELAY * 2, hubConnectionMonitorService.refresh());
+        assertEquals(HubConnectionMonitorService.INITIAL_RETRY_DELAY * 4, hubConnectionMonitorService.refresh());
+        for (int i = 0; i < 10; i++) {
+            hubConnectionMonitorService.refresh();
+        }
+        assertEquals(HubConnectionMonitorService.MAX_RETRY_DELAY, hubConnectionMonitorService.refresh());
+        assertEquals(HubConnectionStatus.DISCONNECTED, hubConnectionMonitorService.getStatus());
+
+        hubConnectionManagerService.loginFailure = null;
+        assertEquals(HubConnectionMonitorService.CONNECTED_CHECK_INTERVAL, hubConnectionMonitorService.refresh());
+        assertEquals(HubConnectionStatus.CONNECTED, hubConnectionMonitorService.getStatus());
+    }
+
+    @Test
+    public void testRefreshReportsRejectedCredentials() {
+        connect();
+        hubConnectionManagerService.loginFailure = new IntegrationRestException(HTTP_UNAUTHORIZED, "Unauthorized", "Bad credentials");
+        hubConnectionMonitorService.refresh();
+        assertEquals(HubConnectionStatus.AUTH_FAILED, hubConnectionMonitorService.getStatus());
+        assertEquals(1, hubConnectionManagerService.sessionsInvalidated.get());
+    }
+
+    private void connect() {
+        hubConnectionMonitorService.refresh();
+        assertEquals(HubConnectionStatus.CONNECTED, hubConnectionMonitorService.getStatus());
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.services.connection.hub;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.blackducksoftware.integration.eclipse.internal.HubSession;
+import com.blackducksoftware.integration.eclipse.services.connection.hub.HubConnectionManagerService;
+import com.blackducksoftware.integration.eclipse.test.services.connection.hub.StubHubSession.StubHubResponse;
+import com.blackducksoftware.integration.exception.IntegrationException;
+import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
+import com.blackducksoftware.integration.hub.api.generated.view.VulnerabilityV2View;
+
+// Logs in without a Hub, and counts the sessions it builds and throws away
+public class StubHubConnectionManagerService extends HubConnectionManagerService {
+    public final AtomicInteger sessionsCreated = new AtomicInteger();
+    public final AtomicInteger sessionsInvalidated = new AtomicInteger();
+    public final AtomicInteger connectionChecks = new AtomicInteger();
+    public volatile IntegrationException loginFailure;
+    public volatile StubHubResponse<List<VulnerabilityV2View>> vulnerabilityResponse = externalId -> null;
+    public volatile StubHubResponse<ComplexLicenseView> licenseResponse = externalId -> null;
+    private HubSession session;
+
+    public StubHubConnectionManagerService() {
+        super(null);
+    }
+
+    @Override
+    public synchronized HubSession getActiveSession() throws IntegrationException {
+        if (session == null) {
+            logIn();
+            session = new StubHubSession(externalId -> vulnerabilityResponse.respond(externalId), externalId -> licenseResponse.respond(externalId));
+            sessionsCreated.incrementAndGet();
+        }
+        return session;
+    }
+
+    @Override
+    public void checkHubConnection() throws IntegrationException {
+        connectionChecks.incrementAndGet();
+        logIn();
+    }
+
+    @Override
+    public synchronized void invalidateSession() {
+        if (session != null) {
+            sessionsInvalidated.incrementAndGet();
+            session = null;
+        }
+    }
+
+    @Override
+    public synchronized void invalidateSession(final HubSession expiredSession) {
+        if (session == expiredSession) {
+            invalidateSession();
+        }
+    }
+
+    private void logIn() throws IntegrationException {
+        final IntegrationException failure = loginFailure;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.services.connection.hub;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+
+import com.blackducksoftware.integration.eclipse.internal.HubSession;
+import com.blackducksoftware.integration.exception.IntegrationException;
+import com.blackducksoftware.integration.hub.api.generated.view.ComplexLicenseView;
+import com.blackducksoftware.integration.hub.api.generated.view.VulnerabilityV2View;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+import com.blackducksoftware.integration.hub.service.ComponentService;
+import com.blackducksoftware.integration.hub.service.HubService;
+import com.blackducksoftware.integration.hub.service.LicenseService;
+import com.blackducksoftware.integration.log.SilentLogger;
+import com.blackducksoftware.integration.rest.connection.UnauthenticatedRestConnection;
+import com.blackducksoftware.integration.rest.proxy.ProxyInfo;
+
+// A session whose component and license requests are answered by the test rather than a Hub
+public class StubHubSession extends HubSession {
+    private static final String HUB_URL = "http://hub.example.com";
+    private static final int HUB_TIMEOUT = 120;
+
+    private final ComponentService componentService;
+    private final LicenseService licenseService;
+
+    public StubHubSession(final StubHubResponse<List<VulnerabilityV2View>> vulnerabilityResponse, final StubHubResponse<ComplexLicenseView> licenseResponse) {
+        super(createRestConnection());
+        final HubService hubService = getHubServicesFactory().createHubService();
+        this.componentService = new ComponentService(hubService) {
+            @Override
+            public List<VulnerabilityV2View> getVulnerabilitiesFromComponentVersion(final ExternalId externalId) throws IntegrationException {
+                return vulnerabilityResponse.respond(externalId);
+            }
+        };
+        this.licenseService = new LicenseService(hubService, componentService) {
+            @Override
+            public ComplexLicenseView getComplexLicenseItemFromComponent(final ExternalId externalId) throws IntegrationException {
+                return licenseResponse.respond(externalId);
+            }
+        };
+    }
+
+    private static UnauthenticatedRestConnection createRestConnection() {
+        try {
+            return new UnauthenticatedRestConnection(new SilentLogger(), new URL(HUB_URL), HUB_TIMEOUT, ProxyInfo.NO_PROXY_INFO);
+        } catch (final MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public ComponentService getComponentService() {
+        return componentService;
+    }
+
+    @Override
+    public LicenseService getLicenseService() {
+        return licenseService;
+    }
+
+    public interface StubHubResponse<T> {
+        T respond(ExternalId externalId) throws IntegrationException;
+    }
+
+}
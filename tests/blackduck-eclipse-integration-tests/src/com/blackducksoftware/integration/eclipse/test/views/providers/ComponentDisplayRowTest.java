@@ -0,0 +1,86 @@
+/**
+ * com.blackducksoftware.integration.eclipse.plugin
+ *
+ * Copyright (C) 2018 Black Duck Software, Inc.
+ * http://www.blackducksoftware.com/
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.blackducksoftware.integration.eclipse.test.views.providers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.blackducksoftware.integration.eclipse.internal.ComponentModel;
+import com.blackducksoftware.integration.eclipse.views.providers.ComponentDisplayRow;
+import com.blackducksoftware.integration.hub.bdio.model.Forge;
+import com.blackducksoftware.integration.hub.bdio.model.externalid.ExternalId;
+
+public class ComponentDisplayRowTest {
+    @Test
+    public void testNameTextHighlightsVersion() {
+        final ComponentDisplayRow row = new ComponentDisplayRow(createComponent(new int[] { 0, 0, 0 }, true));
+        assertEquals("junit  4.12 ", row.getNameText());
+        assertEquals(" 4.12 ", row.getNameText().substring(row.getVersionStart(), row.getVersionStart() + row.getVersionLength()));
+        assertEquals("", row.getLicenseText());
+    }
+
+    @Test
+    public void testSeverityLabelsAreCenteredAndLocated() {
+        final ComponentDisplayRow row = new ComponentDisplayRow(createComponent(new int[] { 12, 0, 1500 }, true));
+        assertEquals(" 12     0    999+ ", row.getVulnerabilityText());
+        assertEquals(3, row.getSeverityCount());
+        assertEquals(" 12 ", label(row, 0));
+        assertEquals(" 0 ", label(row, 1));
+        assertEquals(" 999+ ", label(row, 2));
+        assertTrue(row.getSeverityHasVulnerabilities(0));
+        assertFalse(row.getSeverityHasVulnerabilities(1));
+        assertNull(row.getVulnerabilityToolTip());
+    }
+
+    @Test
+    public void testUnidentifiedVulnerabilitiesAreExplained() {
+        final ComponentDisplayRow row = new ComponentDisplayRow(createComponent(new int[] { 1, 2, 0, 3 }, true));
+        assertEquals(4, row.getSeverityCount());
+        assertEquals("3 out of 6 detected vulnerabilities identified. Connect to your Hub instance for better results.", row.getVulnerabilityToolTip());
+    }
+
+    @Test
+    public void testUnknownComponentShowsNoSeverities() {
+        final ComponentDisplayRow row = new ComponentDisplayRow(createComponent(new int[] { 0, 0, 0 }, false));
+        assertEquals("", row.getVulnerabilityText());
+        assertEquals(0, row.getSeverityCount());
+    }
+
+    private String label(final ComponentDisplayRow row, final int severity) {
+        return row.getVulnerabilityText().substring(row.getSeverityStart(severity), row.getSeverityStart(severity) + row.getSeverityLength(severity));
+    }
+
+    private ComponentModel createComponent(final int[] vulnerabilityCount, final boolean componentIsKnown) {
+        final ExternalId externalId = new ExternalId(Forge.MAVEN);
+        externalId.group = "junit";
+        externalId.name = "junit";
+        externalId.version = "4.12";
+        return new ComponentModel(externalId, null, vulnerabilityCount, componentIsKnown);
+    }
+
+}